@@ -0,0 +1,16 @@
+package org.ek.portfoliobackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/*
+Slår @Async til, så baggrundsarbejde (fx genopbygning af portfolio snapshots efter en ændring)
+kører på Spring Boots applicationTaskExecutor i stedet for på request-tråden.
+Med spring.threads.virtual.enabled=true får hver opgave sin egen virtual thread; antallet af samtidige opgaver
+begrænses af spring.task.execution.simple.concurrency-limit (se application.properties).
+ */
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,82 @@
+package org.ek.portfoliobackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.ek.portfoliobackend.dto.response.ImageResponse;
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+/*
+Konfiguration af in-memory cachen for de offentlige projekt-endpoints (GET /api/projects og GET /api/projects/{id}).
+Data ændres kun når en admin opretter/redigerer/sletter, så de færdige ProjectResponse objekter caches
+og invalideres af skrive-metoderne i ProjectServiceImpl.
+ */
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Single projects, keyed by project id
+    public static final String PROJECTS_CACHE = "projects";
+
+    // Filtered project lists, keyed by (workType, customerType, ascending)
+    public static final String PROJECT_LISTS_CACHE = "projectLists";
+
+    /**
+     * Caffeine caches bounded by the estimated size of the cached responses (per cache), with statistics
+     * enabled so hit/miss/eviction counts are published as cache.* metrics by actuator.
+     *
+     * The manager is transaction aware: puts and evictions made inside a transaction are applied
+     * after commit, so a rolled back write never invalidates (or pollutes) the cache.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.max-weight-bytes:8000000}") long maxWeightBytes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PROJECTS_CACHE, PROJECT_LISTS_CACHE);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher(CacheConfig::estimateSize)
+                .recordStats());
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // Rough size in bytes of a cached response (Java strings use up to 2 bytes per char)
+    private static int estimateSize(Object key, Object value) {
+        if (value instanceof ProjectResponse project) {
+            return estimateProjectSize(project);
+        }
+        if (value instanceof Collection<?> projects) {
+            int size = 64;
+            for (Object project : projects) {
+                size += estimateSize(key, project);
+            }
+            return size;
+        }
+        return 64;
+    }
+
+    private static int estimateProjectSize(ProjectResponse project) {
+        int size = 256 + 2 * (length(project.getTitle()) + length(project.getDescription()));
+        if (project.getImages() != null) {
+            for (ImageResponse image : project.getImages()) {
+                size += 96 + 2 * length(image.getUrl());
+                if (image.getVariants() != null) {
+                    size += image.getVariants().size() * (48 + 2 * length(image.getUrl()));
+                }
+            }
+        }
+        return size;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
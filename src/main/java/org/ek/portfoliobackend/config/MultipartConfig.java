@@ -0,0 +1,39 @@
+package org.ek.portfoliobackend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/*
+Multipart requests parses normalt af Spring/Tomcat, som gemmer hver part i en midlertidig fil før controlleren kaldes,
+hvorefter billedet kopieres igen til upload-mappen. Streaming-endpointet (POST /api/projects/stream) parser selv
+requesten mens den modtages (se StreamingProjectUploadServiceImpl), så her springes Springs multipart parsing over
+for netop den sti. Alle andre endpoints bruger den almindelige resolver med spring.servlet.multipart.* indstillingerne.
+ */
+
+@Configuration
+public class MultipartConfig {
+
+    public static final String STREAMING_UPLOAD_PATH = "/api/projects/stream";
+
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public StandardServletMultipartResolver multipartResolver(
+            @Value("${spring.servlet.multipart.resolve-lazily:false}") boolean resolveLazily) {
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver() {
+            @Override
+            public boolean isMultipart(HttpServletRequest request) {
+                return !isStreamingUpload(request) && super.isMultipart(request);
+            }
+        };
+        resolver.setResolveLazily(resolveLazily);
+        return resolver;
+    }
+
+    private static boolean isStreamingUpload(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(STREAMING_UPLOAD_PATH) || path.equals(STREAMING_UPLOAD_PATH + "/");
+    }
+}
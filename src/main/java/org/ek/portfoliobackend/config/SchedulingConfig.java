@@ -0,0 +1,14 @@
+package org.ek.portfoliobackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+Slår @Scheduled til for periodiske baggrundsjobs (fx køen af filer der venter på at blive slettet,
+se FileDeletionServiceImpl, som prøver fejlede sletninger igen).
+ */
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,73 @@
+package org.ek.portfoliobackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/*
+Kun aktiv når requests og @Async kører på virtual threads (spring.threads.virtual.enabled=true).
+Lytter på JFR-eventet jdk.VirtualThreadPinned: en virtual thread der blokerer (JDBC, fil-I/O) inde i en
+synchronized blok eller native kode holder sin carrier thread fast, og få pinnede tråde kan stoppe alle requests.
+Hver pinning over threshold logges med de øverste frames og tælles i metrikken jvm.threads.virtual.pinned.
+ */
+
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // Frames shown per warning, enough to find the synchronized block
+    private static final int MAX_FRAMES = 8;
+
+    private final RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        Counter pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+
+        this.recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, event -> {
+            pinnedCounter.increment();
+            log.warn("Virtual thread pinned to its carrier for {} ms at {}",
+                    event.getDuration().toMillis(), topFrames(event));
+        });
+        recording.startAsync();
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+
+    // --- Helpers ---
+
+    private String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(this::describe)
+                .collect(Collectors.joining(" <- "));
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
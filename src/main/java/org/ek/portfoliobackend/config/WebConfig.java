@@ -14,10 +14,6 @@ Denne klasse fortæller Spring Boot hvor den skal finde og gemme statiske filer,
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    // Henter upload stien fra applications.properties
-    @Value("${file.upload-dir}")
-    private String uploadDir;
-
     // Henter static fil stien fra applications.properties
     @Value("${file.static-dir}")
     private String staticDir;
@@ -31,21 +27,18 @@ public class WebConfig implements WebMvcConfigurer {
             3. Backend gemmer metadata i database (filename, filepath, uploadedAt, projectId, etc.)
             4. Frontend henter projekt data fra API (inkl. filepath: "/uploads/projekt123.jpg")
             5. Frontend viser billedet via URL: http://localhost:8080/uploads/projekt123.jpg
-            6. WebConfig sørger for at Spring Boot finder og server filen fra uploads/ mappen
+            6. UploadController finder og server filen fra uploads/ mappen (med sendfile, Range og lang cache)
 
          Bemærk:    - Databasen gemmer kun information OM filen (metadata).
                     - Den fysiske fil ligger i uploads/ mappen.
-                    - WebConfig gør det muligt at tilgå den fysiske fil via URL.
+                    - UploadController gør det muligt at tilgå den fysiske fil via URL.
 
          Prøv at kør applikationen og gå ind på linket http://localhost:8080/uploads/dummy_photo.png :)
          */
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Mapper URL path "/uploads/**" til den fysiske mappe defineret i uploadDir
-        // ** betyder "alle undermapper og filer"
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadDir + "/");
+        // "/uploads/**" håndteres ikke her men af UploadController (zero-copy, Range requests og immutable caching)
 
         // Mapper URL path "/static/**" til den fysiske static mappe
         registry.addResourceHandler("/static/**")
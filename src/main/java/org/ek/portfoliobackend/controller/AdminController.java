@@ -0,0 +1,52 @@
+package org.ek.portfoliobackend.controller;
+
+import org.ek.portfoliobackend.dto.response.PendingFileDeletionResponse;
+import org.ek.portfoliobackend.dto.response.UploadGcStatusResponse;
+import org.ek.portfoliobackend.service.FileDeletionService;
+import org.ek.portfoliobackend.service.UploadGarbageCollectionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@PreAuthorize("hasRole('ADMIN')")
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final FileDeletionService fileDeletionService;
+    private final UploadGarbageCollectionService uploadGarbageCollectionService;
+
+    public AdminController(FileDeletionService fileDeletionService,
+                           UploadGarbageCollectionService uploadGarbageCollectionService) {
+        this.fileDeletionService = fileDeletionService;
+        this.uploadGarbageCollectionService = uploadGarbageCollectionService;
+    }
+
+    // The oldest files that are queued for deletion but not deleted yet, at most one batch
+    // (lastError shows why a deletion keeps failing)
+    @GetMapping("/file-deletions")
+    public ResponseEntity<List<PendingFileDeletionResponse>> getPendingFileDeletions() {
+        return ResponseEntity.ok(fileDeletionService.getPendingDeletions());
+    }
+
+    // Retries every queued deletion right away and returns what is still left
+    @PostMapping("/file-deletions/retry")
+    public ResponseEntity<List<PendingFileDeletionResponse>> retryFileDeletions() {
+        fileDeletionService.retryAll();
+        return ResponseEntity.ok(fileDeletionService.getPendingDeletions());
+    }
+
+    // Progress of the orphaned upload collector (cursor, quarantined files and reclaimed bytes)
+    @GetMapping("/upload-gc")
+    public ResponseEntity<UploadGcStatusResponse> getUploadGcStatus() {
+        return ResponseEntity.ok(uploadGarbageCollectionService.getStatus());
+    }
+
+    // Runs one incremental scan right away
+    @PostMapping("/upload-gc/run")
+    public ResponseEntity<UploadGcStatusResponse> runUploadGc() {
+        return ResponseEntity.ok(uploadGarbageCollectionService.runIncrementalScan());
+    }
+}
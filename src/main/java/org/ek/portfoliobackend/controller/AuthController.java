@@ -1,12 +1,18 @@
 package org.ek.portfoliobackend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.ek.portfoliobackend.dto.request.LoginRequest;
+import org.ek.portfoliobackend.dto.request.RefreshTokenRequest;
 import org.ek.portfoliobackend.dto.response.LoginResponse;
+import org.ek.portfoliobackend.security.LoginThrottle;
 import org.ek.portfoliobackend.service.AuthService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,18 +21,44 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/auth")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
 
-    public AuthController(AuthService authService) {
+    private final LoginThrottle loginThrottle;
+
+    public AuthController(AuthService authService, LoginThrottle loginThrottle) {
         this.authService = authService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+
+        // Answers 429 before the (expensive) password check when the IP or username sent too many attempts
+        loginThrottle.check(httpRequest.getRemoteAddr(), request.getUsername());
+
+        return ResponseEntity.ok(authService.login(request.getUsername(), request.getPassword()));
+    }
+
+    // Exchanges a refresh token for a new access + refresh token; the old refresh token stops working
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    // Revokes the access token from the Authorization header and, if sent, the refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
 
-        String token = authService.login(request.getUsername(), request.getPassword());
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
 
-        return ResponseEntity.ok(new LoginResponse(token));
+        return ResponseEntity.noContent().build();
     }
 
 
@@ -5,20 +5,35 @@ import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
 import org.ek.portfoliobackend.dto.request.ImageUploadRequest;
 import org.ek.portfoliobackend.dto.request.UpdateImageRequest;
 import org.ek.portfoliobackend.dto.request.UpdateProjectRequest;
+import org.ek.portfoliobackend.dto.response.FeaturedImageResponse;
+import org.ek.portfoliobackend.dto.response.ProjectPageResponse;
 import org.ek.portfoliobackend.dto.response.ProjectResponse;
 import org.ek.portfoliobackend.exception.custom.ResourceNotFoundException;
 import org.ek.portfoliobackend.model.CustomerType;
 import org.ek.portfoliobackend.model.WorkType;
+import org.ek.portfoliobackend.service.FeaturedImageService;
+import org.ek.portfoliobackend.service.PortfolioSnapshotService;
+import org.ek.portfoliobackend.service.PortfolioSnapshotService.PortfolioSnapshot;
+import org.ek.portfoliobackend.service.PortfolioVersionService;
+import org.ek.portfoliobackend.service.PortfolioVersionService.VersionStamp;
 import org.ek.portfoliobackend.service.ProjectService;
+import org.ek.portfoliobackend.service.StreamingProjectUploadService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
  * REST Controller for handling project-related HTTP requests.
@@ -32,35 +47,133 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
-
-    public ProjectController(ProjectService projectService) {
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final PortfolioVersionService portfolioVersionService;
+    private final FeaturedImageService featuredImageService;
+    private final StreamingProjectUploadService streamingProjectUploadService;
+
+    public ProjectController(ProjectService projectService,
+                             PortfolioSnapshotService portfolioSnapshotService,
+                             PortfolioVersionService portfolioVersionService,
+                             FeaturedImageService featuredImageService,
+                             StreamingProjectUploadService streamingProjectUploadService) {
         this.projectService = projectService;
+        this.portfolioSnapshotService = portfolioSnapshotService;
+        this.portfolioVersionService = portfolioVersionService;
+        this.featuredImageService = featuredImageService;
+        this.streamingProjectUploadService = streamingProjectUploadService;
+    }
+
+    // Retrieves the featured image of each work type (homepage), or 304 if the portfolio has not changed
+    @GetMapping("/featured")
+    public ResponseEntity<List<FeaturedImageResponse>> getFeaturedImages(WebRequest webRequest) {
+        VersionStamp version = portfolioVersionService.getPortfolioVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            log.info("Featured images not modified, answered with 304");
+            return null;
+        }
+
+        List<FeaturedImageResponse> featuredImages = featuredImageService.getFeaturedImages();
+        log.info("Fetched {} featured images", featuredImages.size());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .body(featuredImages);
     }
 
 
-    // Retrieves a project by its ID (images included)
+    // Retrieves a project by its ID (images included), or 304 if the client's ETag / Last-Modified is still current
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id, WebRequest webRequest) {
+        // Read the version before loading, so a concurrent change can only make the sent ETag older
+        VersionStamp version = portfolioVersionService.getProjectVersion(id);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            log.info("Project with ID: {} not modified, answered with 304", id);
+            return null;
+        }
+
         ProjectResponse response = projectService.getProjectById(id);
         log.info("Fetched project with ID: {}", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .body(response);
     }
 
-    // Retrieves all projects with optional filtering and sorting, by workType and customerType.
+    /**
+     * Retrieves all projects with optional filtering and sorting, by workType and customerType.
+     *
+     * When a pre-serialized snapshot of the listing is available, its JSON bytes are sent as-is
+     * (gzip compressed if the client accepts it) with a strong ETag of the bytes.
+     * Otherwise the ETag is the portfolio version and the listing is loaded through ProjectService.
+     * Either way If-None-Match / If-Modified-Since are answered with 304 before anything is loaded.
+     */
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects(
+    public ResponseEntity<?> getAllProjects(
             @RequestParam(required = false) WorkType workType,
             @RequestParam(required = false)CustomerType customerType,
             @RequestParam(name = "sort", required = false)
-            String sortDirection) {
+            String sortDirection,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
 
         log.info("Received request to fetch projects - workType: {}, customerType: {}, sort {}",
                 workType, customerType, sortDirection);
 
+        VersionStamp version = portfolioVersionService.getPortfolioVersion();
+
+        Optional<PortfolioSnapshot> snapshot = portfolioSnapshotService.getSnapshot(workType, customerType, sortDirection);
+        if (snapshot.isPresent()) {
+            return snapshotResponse(snapshot.get(), acceptsGzip(acceptEncoding), version, webRequest);
+        }
+
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            log.info("Projects not modified, answered with 304");
+            return null;
+        }
+
         List<ProjectResponse> projects = projectService.getProjectsByFilters(workType, customerType, sortDirection);
 
         log.info("Successfully retrieved {} projects with applied filters and sorting", projects.size());
-        return ResponseEntity.ok(projects);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .body(projects);
+    }
+
+    /**
+     * Retrieves one page of projects with the same filtering and sorting as the full listing.
+     * Selected instead of the full listing whenever the "size" parameter is present.
+     *
+     * Infinite-scroll clients should pass the returned nextCursor as "cursor" to fetch the following page;
+     * this continues after the last returned project (on executionDate, id) without an OFFSET scan.
+     * "page" is only used when no cursor is given.
+     *
+     * @param size Number of projects per page (1-50)
+     * @param page Zero-based page number, used when no cursor is given
+     * @param cursor Opaque cursor from the previous page's nextCursor
+     * @return ResponseEntity with the page and HTTP 200 status
+     * @throws IllegalArgumentException with BAD_REQUEST if page, size or cursor is invalid
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<ProjectPageResponse> getProjectPage(
+            @RequestParam(required = false) WorkType workType,
+            @RequestParam(required = false) CustomerType customerType,
+            @RequestParam(name = "sort", required = false) String sortDirection,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam int size,
+            @RequestParam(required = false) String cursor) {
+
+        log.info("Received request to fetch project page - workType: {}, customerType: {}, sort {}, page: {}, size: {}, cursor: {}",
+                workType, customerType, sortDirection, page, size, cursor != null);
+
+        ProjectPageResponse projectPage = projectService.getProjectPage(workType, customerType, sortDirection, page, size, cursor);
+
+        log.info("Successfully retrieved {} projects, hasNext: {}", projectPage.getItems().size(), projectPage.getHasNext());
+        return ResponseEntity.ok(projectPage);
     }
 
     /**
@@ -103,6 +216,25 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProject);
     }
 
+    /**
+     * Creates a new project like POST /api/projects, but streams the images straight to storage while the request
+     * is received (no servlet temp files). Spring's multipart parsing is skipped for this path (see MultipartConfig).
+     * Send the parts in the order "data", "imageMetadata", "images"...
+     *
+     * @param request the unparsed multipart/form-data request
+     * @return ResponseEntity with the created project and HTTP 201 status
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/stream", consumes = "multipart/form-data")
+    public ResponseEntity<ProjectResponse> createProjectStreaming(HttpServletRequest request) {
+        log.info("Received streaming request to create project");
+
+        ProjectResponse createdProject = streamingProjectUploadService.createProject(request);
+
+        log.info("Successfully created project with ID: {}", createdProject.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdProject);
+    }
+
     /**
      * Uploads new images to existing project.
      * new images are added to project's existing images.
@@ -140,6 +272,29 @@ public class ProjectController {
 
     }
 
+    /**
+     * Adds large images that were uploaded in chunks to an existing project (see UploadSessionController).
+     * Each metadata entry names the completed upload session holding its image.
+     *
+     * @param id Project ID
+     * @param imageMetadata Metadata for each image (imageType, isFeatured, uploadSessionId)
+     * @return ResponseEntity with the updated project and HTTP 200 status
+     * @throws ResourceNotFoundException if the project or an upload session does not exist
+     * @throws IllegalArgumentException if an upload session is not complete
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping(value = "/{id}/images/sessions", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProjectResponse> addImagesFromUploadSessions(
+            @PathVariable Long id,
+            @RequestBody List<ImageUploadRequest> imageMetadata) {
+        log.info("Received request to add {} uploaded images to project ID: {}", imageMetadata.size(), id);
+
+        ProjectResponse updatedProject = projectService.addImagesFromUploadSessions(id, imageMetadata);
+
+        log.info("Successfully added {} uploaded images to project ID: {}", imageMetadata.size(), id);
+        return ResponseEntity.ok(updatedProject);
+    }
+
     /**
      * Updates metadata of an existing image within a project.
      * only updates the fields provided in the request (imageType, isFeatured).
@@ -202,4 +357,66 @@ public class ProjectController {
         log.info("Successfully deleted project with ID: {}", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // ---- Helpers for snapshot responses ----
+
+    // Sends the pre-encoded bytes of a snapshot, or 304 (null body) if the client already has them
+    private ResponseEntity<byte[]> snapshotResponse(PortfolioSnapshot snapshot, boolean gzip,
+                                                    VersionStamp version, WebRequest webRequest) {
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+        if (webRequest.checkNotModified(etag, version.lastModified())) {
+            log.info("Projects not modified, answered from snapshot with 304");
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(version.lastModified())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        log.info("Successfully served projects from snapshot");
+        return response.body(gzip ? snapshot.gzip() : snapshot.json());
+    }
+
+    // Accept-Encoding lists codings with an optional weight ("gzip;q=0.5"); q=0 means "not acceptable".
+    // An explicit gzip entry wins over the wildcard
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipWeight = null;
+        Double wildcardWeight = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = weight(parts);
+            if (coding.equals("gzip")) {
+                gzipWeight = weight;
+            } else if (coding.equals("*")) {
+                wildcardWeight = weight;
+            }
+        }
+        Double weight = gzipWeight != null ? gzipWeight : wildcardWeight;
+        return weight != null && weight > 0;
+    }
+
+    // The q parameter of an Accept-Encoding entry (1 if missing, 0 if malformed)
+    private static double weight(String[] entryParts) {
+        for (int i = 1; i < entryParts.length; i++) {
+            String parameter = entryParts[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
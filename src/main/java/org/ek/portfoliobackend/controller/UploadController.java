@@ -0,0 +1,223 @@
+package org.ek.portfoliobackend.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves uploaded images from the upload directory (replaces the /uploads resource handler in WebConfig).
+ *
+ * Uploaded files are never changed after they are written (the filenames are UUIDs), so responses are
+ * cached "immutable" for a year. Supports conditional requests (ETag / Last-Modified) and single byte
+ * ranges. The body is handed to Tomcat's sendfile when the connector supports it, otherwise it is
+ * copied with FileChannel.transferTo.
+ */
+@RestController
+public class UploadController {
+
+    // Tomcat request attributes for sendfile (see org.apache.coyote.Constants)
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+
+    private final Path uploadPath;
+    private final Counter bytesScheduled;
+    private final MeterRegistry meterRegistry;
+
+    // One timer per response status, so a request does not look its timer up in the registry
+    private final Map<Integer, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    public UploadController(@Value("${file.upload-dir:./uploads}") String uploadDir, MeterRegistry meterRegistry) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.meterRegistry = meterRegistry;
+        // Counted when the response is handed to Tomcat (sendfile runs after this controller returns),
+        // so aborted and partial transfers count in full
+        this.bytesScheduled = Counter.builder("uploads.bytes.scheduled")
+                .description("Bytes of uploaded files scheduled for sending to clients")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @RequestMapping(value = "/uploads/{*path}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveUpload(@PathVariable String path,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        long start = System.nanoTime();
+        try {
+            serve(path, request, response);
+        } finally {
+            requestTimers.computeIfAbsent(response.getStatus(), this::requestTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // --- Helpers ---
+
+    private Timer requestTimer(int status) {
+        return Timer.builder("uploads.requests")
+                .description("Time spent serving uploaded files")
+                .tag("status", String.valueOf(status))
+                .register(meterRegistry);
+    }
+
+    private void serve(String path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = resolve(path);
+        BasicFileAttributes attributes;
+        try {
+            attributes = file == null ? null
+                    : Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            attributes = null;
+        }
+        if (attributes == null || !attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        // Sets ETag/Last-Modified and answers 304 (or 412) when the client already has the file
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(contentType.toString());
+
+        long rangeStart = 0;
+        long rangeEnd = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = null;
+            }
+            // Multiple ranges are answered with the whole file (allowed by RFC 9110), images are fetched in one piece anyway
+            if (ranges != null && ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    rangeStart = range.getRangeStart(length);
+                    rangeEnd = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    rangeStart = length;
+                }
+                if (rangeStart >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + rangeStart + "-" + rangeEnd + "/" + length);
+            } else if (ranges == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long count = length == 0 ? 0 : rangeEnd - rangeStart + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // Tomcat writes the file straight from the page cache to the socket after this method returns
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toString());
+            request.setAttribute(SENDFILE_START_ATTR, rangeStart);
+            request.setAttribute(SENDFILE_END_ATTR, rangeEnd + 1);
+        } else {
+            transfer(file, rangeStart, count, response);
+        }
+        bytesScheduled.increment(count);
+    }
+
+    private void transfer(Path file, long position, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long sent = 0;
+            while (sent < count) {
+                long written = channel.transferTo(position + sent, count - sent, out);
+                if (written <= 0) {
+                    break;
+                }
+                sent += written;
+            }
+        }
+    }
+
+    // Resolves the request path inside the upload directory (flat or sharded); null for anything outside it,
+    // and for temp files and quarantined orphans
+    private Path resolve(String path) {
+        String relative = UploadLayout.relativePath(path);
+        if (relative.isEmpty() || relative.indexOf('\0') >= 0 || UploadLayout.isHidden(relative)) {
+            return null;
+        }
+        try {
+            return UploadLayout.resolve(uploadPath, relative);
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    // If-Range: only honour the range when the client's copy is the current file
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.ek.portfoliobackend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.ek.portfoliobackend.dto.request.CreateUploadSessionRequest;
+import org.ek.portfoliobackend.dto.response.UploadSessionResponse;
+import org.ek.portfoliobackend.service.UploadSessionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resumable uploads of large images, one session per file:
+ * POST creates the session, PUT .../chunks?offset=N sends a chunk (raw bytes, any order, safe to repeat),
+ * GET tells which chunks are missing after a broken connection. The finished sessions are added to a project
+ * with PATCH /api/projects/{id}/images/sessions.
+ */
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+@RestController
+@RequestMapping("/api/upload-sessions")
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    public UploadSessionController(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> createSession(@Valid @RequestBody CreateUploadSessionRequest request) {
+        UploadSessionResponse response = uploadSessionService.createSession(request);
+        log.info("Created upload session {} for {} ({} bytes)", response.getId(), request.getFilename(), request.getSize());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSessionResponse> getSession(@PathVariable String id) {
+        return ResponseEntity.ok(uploadSessionService.getSession(id));
+    }
+
+    // The chunk is streamed from the request body, its length must be sent as Content-Length
+    @PutMapping(value = "/{id}/chunks", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionResponse> writeChunk(@PathVariable String id,
+                                                            @RequestParam long offset,
+                                                            HttpServletRequest request) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            throw new IllegalArgumentException("Content-Length is required");
+        }
+        try (InputStream content = request.getInputStream()) {
+            return ResponseEntity.ok(uploadSessionService.writeChunk(id, offset, length, content));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSession(@PathVariable String id) {
+        uploadSessionService.deleteSession(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,52 @@
+package org.ek.portfoliobackend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class CreateUploadSessionRequest {
+
+    @NotBlank(message = "The upload requires a filename")
+    @Size(max = 255, message = "The filename can be at most 255 characters")
+    private String filename;
+
+    @Size(max = 100, message = "The content type can be at most 100 characters")
+    private String contentType;
+
+    @NotNull(message = "The upload requires the file size")
+    @Positive(message = "The file size must be positive")
+    private Long size;
+
+    public CreateUploadSessionRequest() {}
+
+    public CreateUploadSessionRequest(String filename, String contentType, Long size) {
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+}
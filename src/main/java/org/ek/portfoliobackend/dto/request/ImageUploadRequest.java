@@ -12,6 +12,9 @@ public class ImageUploadRequest {
     @JsonProperty(defaultValue = "false") // Bliver false i backend, hvis brugeren ikke angiver værdien
     private Boolean isFeatured;
 
+    // Only for PATCH /api/projects/{id}/images/sessions: the finished upload session holding the image
+    private String uploadSessionId;
+
     public ImageUploadRequest() {}
 
     public ImageUploadRequest(ImageType imageType, boolean isFeatured) {
@@ -34,4 +37,12 @@ public class ImageUploadRequest {
     public void setFeatured(boolean featured) {
         isFeatured = featured;
     }
+
+    public String getUploadSessionId() {
+        return uploadSessionId;
+    }
+
+    public void setUploadSessionId(String uploadSessionId) {
+        this.uploadSessionId = uploadSessionId;
+    }
 }
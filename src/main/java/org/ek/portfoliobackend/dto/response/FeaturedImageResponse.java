@@ -0,0 +1,47 @@
+package org.ek.portfoliobackend.dto.response;
+
+
+import org.ek.portfoliobackend.model.WorkType;
+
+
+/**
+ * The featured image of one work type, with the project it belongs to.
+ */
+public class FeaturedImageResponse {
+
+    private WorkType workType;
+    private Long projectId;
+    private ImageResponse image;
+
+    public FeaturedImageResponse() {}
+
+    public FeaturedImageResponse(WorkType workType, Long projectId, ImageResponse image) {
+        this.workType = workType;
+        this.projectId = projectId;
+        this.image = image;
+    }
+
+    public WorkType getWorkType() {
+        return workType;
+    }
+
+    public void setWorkType(WorkType workType) {
+        this.workType = workType;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public ImageResponse getImage() {
+        return image;
+    }
+
+    public void setImage(ImageResponse image) {
+        this.image = image;
+    }
+}
@@ -3,6 +3,8 @@ package org.ek.portfoliobackend.dto.response;
 
 import org.ek.portfoliobackend.model.ImageType;
 
+import java.util.List;
+
 
 public class ImageResponse {
 
@@ -11,6 +13,9 @@ public class ImageResponse {
     private ImageType imageType;
     private boolean isFeatured;
 
+    // Downscaled copies for srcset, smallest first (empty if the image has none)
+    private List<ImageVariantResponse> variants = List.of();
+
     public ImageResponse(){}
 
     public ImageResponse(Long id, String url, ImageType imageType, boolean isFeatured) {
@@ -52,6 +57,14 @@ public class ImageResponse {
         isFeatured = featured;
     }
 
+    public List<ImageVariantResponse> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(List<ImageVariantResponse> variants) {
+        this.variants = variants;
+    }
+
 
 
 }
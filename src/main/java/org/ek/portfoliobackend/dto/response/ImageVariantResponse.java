@@ -0,0 +1,34 @@
+package org.ek.portfoliobackend.dto.response;
+
+
+/**
+ * A downscaled copy of an image, for srcset ("url width" + "w").
+ */
+public class ImageVariantResponse {
+
+    private String url;
+    private int width;
+
+    public ImageVariantResponse() {}
+
+    public ImageVariantResponse(String url, int width) {
+        this.url = url;
+        this.width = width;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+}
@@ -2,14 +2,35 @@ package org.ek.portfoliobackend.dto.response;
 
 public class LoginResponse {
 
+    // Access token, sent as "Authorization: Bearer <token>"
     private String token;
 
+    // Exchanged at /auth/refresh for a new pair when the access token expired (can be used once)
+    private String refreshToken;
+
+    // Seconds until the access token expires
+    private long expiresIn;
+
     public LoginResponse(String token) {
         this.token = token;
     }
 
+    public LoginResponse(String token, String refreshToken, long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
     public String getToken() {
         return token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
 }
@@ -0,0 +1,78 @@
+package org.ek.portfoliobackend.dto.response;
+
+
+import java.time.Instant;
+
+
+/**
+ * A file that is still waiting to be deleted, with the error of the last failed attempt.
+ */
+public class PendingFileDeletionResponse {
+
+    private Long id;
+    private String url;
+    private Instant createdAt;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private String lastError;
+
+    public PendingFileDeletionResponse() {}
+
+    public PendingFileDeletionResponse(Long id, String url, Instant createdAt, int attempts,
+                                       Instant nextAttemptAt, String lastError) {
+        this.id = id;
+        this.url = url;
+        this.createdAt = createdAt;
+        this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = lastError;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,59 @@
+package org.ek.portfoliobackend.dto.response;
+
+
+import java.util.List;
+
+
+/**
+ * One slice of the project listing.
+ * nextCursor is an opaque token the client sends back as "cursor" to fetch the following slice;
+ * it is null when there are no more projects.
+ */
+public class ProjectPageResponse {
+
+    private List<ProjectResponse> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public ProjectPageResponse() {}
+
+    public ProjectPageResponse(List<ProjectResponse> items, int size, boolean hasNext, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ProjectResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProjectResponse> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,89 @@
+package org.ek.portfoliobackend.dto.response;
+
+
+import java.time.Instant;
+
+
+/**
+ * Progress of the orphaned upload collector. The counters are totals since startup.
+ * cursor is the last scanned file (relative to the upload folder); empty when a new pass starts.
+ */
+public class UploadGcStatusResponse {
+
+    private String cursor;
+    private Instant lastRunAt;
+    private Instant lastPassCompletedAt;
+    private long filesScanned;
+    private long filesQuarantined;
+    private long filesPurged;
+    private long bytesReclaimed;
+
+    public UploadGcStatusResponse() {}
+
+    public UploadGcStatusResponse(String cursor, Instant lastRunAt, Instant lastPassCompletedAt, long filesScanned,
+                                  long filesQuarantined, long filesPurged, long bytesReclaimed) {
+        this.cursor = cursor;
+        this.lastRunAt = lastRunAt;
+        this.lastPassCompletedAt = lastPassCompletedAt;
+        this.filesScanned = filesScanned;
+        this.filesQuarantined = filesQuarantined;
+        this.filesPurged = filesPurged;
+        this.bytesReclaimed = bytesReclaimed;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Instant getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(Instant lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+
+    public Instant getLastPassCompletedAt() {
+        return lastPassCompletedAt;
+    }
+
+    public void setLastPassCompletedAt(Instant lastPassCompletedAt) {
+        this.lastPassCompletedAt = lastPassCompletedAt;
+    }
+
+    public long getFilesScanned() {
+        return filesScanned;
+    }
+
+    public void setFilesScanned(long filesScanned) {
+        this.filesScanned = filesScanned;
+    }
+
+    public long getFilesQuarantined() {
+        return filesQuarantined;
+    }
+
+    public void setFilesQuarantined(long filesQuarantined) {
+        this.filesQuarantined = filesQuarantined;
+    }
+
+    public long getFilesPurged() {
+        return filesPurged;
+    }
+
+    public void setFilesPurged(long filesPurged) {
+        this.filesPurged = filesPurged;
+    }
+
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    public void setBytesReclaimed(long bytesReclaimed) {
+        this.bytesReclaimed = bytesReclaimed;
+    }
+}
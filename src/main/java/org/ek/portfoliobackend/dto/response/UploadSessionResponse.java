@@ -0,0 +1,100 @@
+package org.ek.portfoliobackend.dto.response;
+
+
+import java.time.Instant;
+import java.util.List;
+
+
+/**
+ * State of a resumable upload. missingOffsets are the offsets of the chunks that still have to be sent
+ * (each chunkSize bytes, except the last chunk of the file).
+ */
+public class UploadSessionResponse {
+
+    private String id;
+    private String filename;
+    private long totalSize;
+    private int chunkSize;
+    private long receivedBytes;
+    private List<Long> missingOffsets;
+    private boolean complete;
+    private Instant expiresAt;
+
+    public UploadSessionResponse() {}
+
+    public UploadSessionResponse(String id, String filename, long totalSize, int chunkSize, long receivedBytes,
+                                 List<Long> missingOffsets, Instant expiresAt) {
+        this.id = id;
+        this.filename = filename;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.receivedBytes = receivedBytes;
+        this.missingOffsets = missingOffsets;
+        this.complete = missingOffsets.isEmpty();
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public List<Long> getMissingOffsets() {
+        return missingOffsets;
+    }
+
+    public void setMissingOffsets(List<Long> missingOffsets) {
+        this.missingOffsets = missingOffsets;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
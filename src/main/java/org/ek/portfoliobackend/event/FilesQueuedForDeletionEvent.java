@@ -0,0 +1,10 @@
+package org.ek.portfoliobackend.event;
+
+/**
+ * Published when files have been queued for deletion (see PendingFileDeletion).
+ * The deletion worker starts once the transaction that queued them has committed.
+ *
+ * @param count number of files queued
+ */
+public record FilesQueuedForDeletionEvent(int count) {
+}
@@ -0,0 +1,12 @@
+package org.ek.portfoliobackend.event;
+
+import java.util.List;
+
+/**
+ * Published by ProjectServiceImpl when new image files have been stored for a project.
+ * Listeners should use @TransactionalEventListener, so they only react to images that were actually committed.
+ *
+ * @param urls the URLs of the stored originals
+ */
+public record ImagesStoredEvent(List<String> urls) {
+}
@@ -0,0 +1,13 @@
+package org.ek.portfoliobackend.event;
+
+/**
+ * Published by the write methods in ProjectServiceImpl when projects or their images change, and by
+ * ImageDerivativeServiceImpl when the derivatives of images become available (projectId null).
+ * Listeners should use @TransactionalEventListener, so they only react once the change is committed.
+ *
+ * @param projectId the project that was created, updated or deleted
+ * @param affectsOtherProjects true if the change also modified other projects (e.g. a new featured image
+ *                             unfeatures the images of other projects with the same work type)
+ */
+public record PortfolioChangedEvent(Long projectId, boolean affectsOtherProjects) {
+}
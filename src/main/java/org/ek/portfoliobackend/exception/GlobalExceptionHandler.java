@@ -2,11 +2,16 @@ package org.ek.portfoliobackend.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.ek.portfoliobackend.exception.custom.ResourceNotFoundException;
+import org.ek.portfoliobackend.exception.custom.TooManyRequestsException;
 import org.ek.portfoliobackend.exception.custom.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -86,6 +91,81 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Håndterer TooManyRequestsException når en klient sender for mange requests (f.eks. login-forsøg).
+
+     * @param ex Exception med besked og hvor længe klienten skal vente
+     * @param request HTTP request for at få path information
+     * @return ResponseEntity med ErrorResponse, Retry-After header og HTTP 429 status
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(
+            TooManyRequestsException ex, HttpServletRequest request) {
+
+        logger.warn("Too many requests: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Håndterer AuthenticationException ved forkert login eller et ugyldigt/brugt refresh token.
+     * Beskeden er altid den samme, så den ikke afslører om brugernavnet findes.
+
+     * @param ex Exception fra Spring Security
+     * @param request HTTP request for at få path information
+     * @return ResponseEntity med ErrorResponse og HTTP 401 status
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationException(
+            AuthenticationException ex, HttpServletRequest request) {
+
+        logger.warn("Authentication failed: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                "Unauthorized",
+                "Ugyldigt brugernavn, password eller token",
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Håndterer fejl når der ikke kan fås en database-forbindelse, typisk fordi Hikari-puljen er fuld i længere
+     * tid end connection-timeout (fx under load med virtual threads). Klienten kan prøve igen om lidt.
+
+     * @param ex Exception fra transaktions- eller data access-laget
+     * @param request HTTP request for at få path information
+     * @return ResponseEntity med ErrorResponse, Retry-After header og HTTP 503 status
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailableException(
+            Exception ex, HttpServletRequest request) {
+
+        logger.warn("Database unavailable: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Serveren er optaget lige nu. Prøv igen om lidt",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     /**
      * Håndterer MethodArgumentNotValidException - Bean Validation fejl fra @Valid annotation.
      * Samler alle feltspecifikke valideringsfejl og returnerer dem i en struktureret format.
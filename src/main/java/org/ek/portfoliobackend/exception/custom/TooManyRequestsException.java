@@ -0,0 +1,28 @@
+package org.ek.portfoliobackend.exception.custom;
+
+/**
+ * Exception der kastes når en klient skal vente før den prøver igen, f.eks.:
+ * - For mange login-forsøg fra samme IP eller til samme brugernavn
+ * - Alle tråde til password hashing er optaget
+ * Resulterer i HTTP 429 Too Many Requests response med Retry-After header.
+ */
+
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor med besked og ventetid.
+
+     * @param message Beskrivelse af hvorfor requestet afvises
+     * @param retryAfterSeconds Antal sekunder klienten skal vente (sendes som Retry-After)
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -4,18 +4,28 @@ import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
 import org.ek.portfoliobackend.dto.request.UpdateImageRequest;
 import org.ek.portfoliobackend.dto.request.UpdateProjectRequest;
 import org.ek.portfoliobackend.dto.response.ImageResponse;
+import org.ek.portfoliobackend.dto.response.ImageVariantResponse;
 import org.ek.portfoliobackend.dto.response.ProjectResponse;
 import org.ek.portfoliobackend.model.*;
+import org.ek.portfoliobackend.service.ImageDerivativeService;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 @Component
 public class ProjectMapper {
 
+    private final boolean derivativesEnabled;
+
+    public ProjectMapper(@Value("${app.images.derivatives.enabled:true}") boolean derivativesEnabled) {
+        this.derivativesEnabled = derivativesEnabled;
+    }
+
     /**
      * Konverterer CreateProjectRequest DTO til Project entity.
      * creationDate sættes automatisk til nuværende tidspunkt.
@@ -157,6 +167,9 @@ public class ProjectMapper {
 
     /**
      * Konverterer Image entity til ImageResponse DTO.
+     * Billeder hvis nedskalerede varianter er genereret (originalWidth er sat) får dem med til srcset,
+     * med deres faktiske bredde. Varianter bredere end originalen er samme fil i originalens bredde,
+     * så kun den første af dem tages med.
      *
      * @param image Image entity fra databasen
      * @return ImageResponse DTO
@@ -167,6 +180,20 @@ public class ProjectMapper {
         response.setUrl(image.getUrl());
         response.setImageType(image.getImageType());
         response.setIsFeatured(image.getIsFeatured());
+
+        // Derivatives are stored next to the original, so their URLs follow from the original URL
+        Integer originalWidth = image.getOriginalWidth();
+        if (derivativesEnabled && originalWidth != null && ImageDerivativeService.hasDerivatives(image.getUrl())) {
+            List<ImageVariantResponse> variants = new ArrayList<>();
+            for (int width : ImageDerivativeService.WIDTHS) {
+                variants.add(new ImageVariantResponse(
+                        ImageDerivativeService.derivativeUrl(image.getUrl(), width), Math.min(width, originalWidth)));
+                if (width >= originalWidth) {
+                    break;
+                }
+            }
+            response.setVariants(variants);
+        }
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package org.ek.portfoliobackend.model;
+
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+
+/**
+ * A revoked token (logout or a used refresh token), kept until the token expires.
+ * The primary key on jti makes sure only one request can revoke - and so use - a refresh token.
+ */
+@Entity
+@Table(name = "denied_token", indexes = {
+        // The cleanup job looks up expired tokens
+        @Index(name = "idx_denied_token_expires_at", columnList = "expires_at")
+})
+public class DeniedToken {
+
+    // The token's jti (random UUID)
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public DeniedToken() {}
+
+    public DeniedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,47 @@
+package org.ek.portfoliobackend.model;
+
+
+import jakarta.persistence.*;
+
+
+/**
+ * The featured image of a work type (shown on the homepage).
+ * The work type is the primary key, so there can never be more than one featured image per work type.
+ * Image.isFeatured is kept in sync by FeaturedImageService.
+ */
+@Entity
+@Table(name = "featured_image")
+public class FeaturedImage {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "work_type")
+    private WorkType workType;
+
+    @OneToOne(optional = false)
+    @JoinColumn(name = "image_id", nullable = false, unique = true)
+    private Image image;
+
+    public FeaturedImage() {}
+
+    public FeaturedImage(WorkType workType, Image image) {
+        this.workType = workType;
+        this.image = image;
+    }
+
+    public WorkType getWorkType() {
+        return workType;
+    }
+
+    public void setWorkType(WorkType workType) {
+        this.workType = workType;
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public void setImage(Image image) {
+        this.image = image;
+    }
+}
@@ -7,8 +7,12 @@ import jakarta.persistence.*;
 @Entity
 public class Image {
 
+    // Ids are allocated in blocks from the id_generator table (not IDENTITY), so Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "image_id_generator")
+    @TableGenerator(name = "image_id_generator", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "next_val", pkColumnValue = "image",
+            allocationSize = 50)
     private Long id;
 
     private String url;
@@ -23,6 +27,10 @@ public class Image {
     @JoinColumn(name = "project_id")
     private Project project;
 
+    // Pixel width of the original, set once its derivatives are generated (null = no derivatives to serve)
+    @Column(name = "original_width")
+    private Integer originalWidth;
+
     public Image() {}
 
     public Image(Long id, String url, ImageType imageType, boolean isFeatured, Project project) {
@@ -73,5 +81,13 @@ public class Image {
         this.project = project;
     }
 
+    public Integer getOriginalWidth() {
+        return originalWidth;
+    }
+
+    public void setOriginalWidth(Integer originalWidth) {
+        this.originalWidth = originalWidth;
+    }
+
 
 }
@@ -0,0 +1,45 @@
+package org.ek.portfoliobackend.model;
+
+
+import jakarta.persistence.*;
+
+
+/**
+ * A stored image file in the content-addressed store, named after the SHA-256 of its content.
+ * refCount is the number of Image rows that use the file; the file is removed when it reaches zero.
+ */
+@Entity
+@Table(name = "image_blob")
+public class ImageBlob {
+
+    // "<sha-256 hex>.<extension>", also the filename in the upload directory
+    @Id
+    @Column(length = 100)
+    private String filename;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    public ImageBlob() {}
+
+    public ImageBlob(String filename, int refCount) {
+        this.filename = filename;
+        this.refCount = refCount;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+}
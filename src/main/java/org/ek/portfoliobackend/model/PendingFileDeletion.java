@@ -0,0 +1,99 @@
+package org.ek.portfoliobackend.model;
+
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+
+/**
+ * A stored file that must be deleted (outbox row).
+ * Written in the same transaction that deletes the image, and removed by FileDeletionService once the file is gone,
+ * so a rolled back delete never loses a file and a failed file delete is retried instead of leaking the file.
+ */
+@Entity
+@Table(name = "pending_file_deletion", indexes = {
+        // The worker picks the due rows in id order
+        @Index(name = "idx_pending_file_deletion_due", columnList = "next_attempt_at, id")
+})
+public class PendingFileDeletion {
+
+    // Ids come from the id_generator table like Image ids, so a deleted project's files are queued in one batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pending_file_deletion_id_generator")
+    @TableGenerator(name = "pending_file_deletion_id_generator", table = "id_generator",
+            pkColumnName = "gen_name", valueColumnName = "next_val", pkColumnValue = "pending_file_deletion",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String url;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public PendingFileDeletion() {}
+
+    public PendingFileDeletion(String url, Instant createdAt) {
+        this.url = url;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
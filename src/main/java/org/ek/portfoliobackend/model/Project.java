@@ -11,6 +11,12 @@ import java.util.ArrayList;
 
 
 @Entity
+@Table(indexes = {
+        // Supports sorting and keyset pagination on (executionDate, id)
+        @Index(name = "idx_project_execution_date_id", columnList = "execution_date, id"),
+        // Supports filtering by work type and keyset pagination within one work type
+        @Index(name = "idx_project_work_type_execution_date_id", columnList = "work_type, execution_date, id")
+})
 public class Project {
 
 
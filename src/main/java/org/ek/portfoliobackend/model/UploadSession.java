@@ -0,0 +1,117 @@
+package org.ek.portfoliobackend.model;
+
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+
+/**
+ * A resumable upload of one image file, sent in chunks of chunkSize bytes (the last one may be shorter).
+ * The received chunks are kept as files in the upload folder (see UploadSessionService); this row holds what
+ * the file should look like and when the session expires.
+ */
+@Entity
+@Table(name = "upload_session", indexes = {
+        // The cleanup job looks up expired sessions
+        @Index(name = "idx_upload_session_expires_at", columnList = "expires_at")
+})
+public class UploadSession {
+
+    // Random UUID, also the name of the chunk directory
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public UploadSession() {}
+
+    public UploadSession(String id, String filename, String contentType, long totalSize, int chunkSize,
+                         Instant createdAt, Instant expiresAt) {
+        this.id = id;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Number of chunks the file is split into
+    public int getChunkCount() {
+        return (int) ((totalSize + chunkSize - 1) / chunkSize);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
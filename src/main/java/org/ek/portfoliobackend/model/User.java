@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -25,6 +26,11 @@ public class User {
     @Column(nullable = false)
     private String password;
 
+    // Stored in every JWT; raising it (password or username change) makes the user's existing tokens invalid
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     public User() {}
 
     public User(Long id, String username, String email, String password) {
@@ -67,6 +73,14 @@ public class User {
         this.password = password;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
 
 
 
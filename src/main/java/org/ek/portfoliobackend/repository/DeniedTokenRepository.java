@@ -0,0 +1,29 @@
+package org.ek.portfoliobackend.repository;
+
+import org.ek.portfoliobackend.model.DeniedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface DeniedTokenRepository extends JpaRepository<DeniedToken, String> {
+
+    // A plain INSERT (save() would merge): fails with DataIntegrityViolationException if the jti is already denied
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO denied_token (jti, expires_at) VALUES (:jti, :expiresAt)", nativeQuery = true)
+    int insert(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt);
+
+    List<DeniedToken> findByExpiresAtAfter(Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DeniedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
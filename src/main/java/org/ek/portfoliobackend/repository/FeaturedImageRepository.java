@@ -0,0 +1,17 @@
+package org.ek.portfoliobackend.repository;
+
+import org.ek.portfoliobackend.model.FeaturedImage;
+import org.ek.portfoliobackend.model.WorkType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FeaturedImageRepository extends JpaRepository<FeaturedImage, WorkType> {
+
+    // All featured images (at most one per work type) with their image and project in one query
+    @Query("SELECT f FROM FeaturedImage f JOIN FETCH f.image i JOIN FETCH i.project")
+    List<FeaturedImage> findAllWithImage();
+}
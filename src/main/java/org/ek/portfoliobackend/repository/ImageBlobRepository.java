@@ -0,0 +1,27 @@
+package org.ek.portfoliobackend.repository;
+
+import jakarta.persistence.LockModeType;
+import org.ek.portfoliobackend.model.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // Locks the row, so storing and deleting the same file are serialized
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ImageBlob b WHERE b.filename = :filename")
+    Optional<ImageBlob> findByFilenameForUpdate(@Param("filename") String filename);
+
+    // The given files that still have references. The count is raised (and committed) before the image row of a
+    // new upload is, so this also covers uploads that are still in progress
+    @Query("SELECT b.filename FROM ImageBlob b WHERE b.filename IN :filenames AND b.refCount > 0")
+    List<String> findReferencedFilenamesIn(@Param("filenames") Collection<String> filenames);
+}
@@ -4,8 +4,13 @@ import org.ek.portfoliobackend.model.Image;
 import org.ek.portfoliobackend.model.ImageType;
 import org.ek.portfoliobackend.model.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -37,4 +42,31 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
 
     // Find images by project and type
     List<Image> findByProjectIdAndImageType(Long projectId, ImageType imageType);
-}
\ No newline at end of file
+
+    // All distinct image URLs (several images can share a file)
+    @Query("SELECT DISTINCT i.url FROM Image i WHERE i.url IS NOT NULL")
+    List<String> findDistinctUrls();
+
+    // Points every image that uses oldUrl to newUrl, used when files are moved
+    @Modifying
+    @Query("UPDATE Image i SET i.url = :newUrl WHERE i.url = :oldUrl")
+    int updateUrl(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    // Records that the derivatives of a file exist, for every image that uses it
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.originalWidth = :originalWidth WHERE i.url = :url")
+    int updateOriginalWidth(@Param("url") String url, @Param("originalWidth") int originalWidth);
+
+    // Uploaded files whose derivatives are not recorded yet
+    @Query("SELECT DISTINCT i.url FROM Image i WHERE i.url IS NOT NULL AND i.originalWidth IS NULL")
+    List<String> findDistinctUrlsWithoutOriginalWidth();
+
+    // The distinct parts in front of "/uploads/" (e.g. "" or "http://localhost:8080"), to build exact URLs of files
+    @Query("SELECT DISTINCT SUBSTRING(i.url, 1, LOCATE('/uploads/', i.url) - 1) FROM Image i WHERE LOCATE('/uploads/', i.url) > 0")
+    List<String> findUploadUrlPrefixes();
+
+    // The given URLs that are used by at least one image
+    @Query("SELECT DISTINCT i.url FROM Image i WHERE i.url IN :urls")
+    List<String> findUrlsIn(@Param("urls") Collection<String> urls);
+}
@@ -0,0 +1,55 @@
+package org.ek.portfoliobackend.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.ek.portfoliobackend.model.PendingFileDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PendingFileDeletionRepository extends JpaRepository<PendingFileDeletion, Long> {
+
+    // The next batch of deletions that are due, oldest first
+    List<PendingFileDeletion> findByNextAttemptAtLessThanEqualOrderByIdAsc(Instant now, Pageable pageable);
+
+    // Claims one deletion for the current transaction (SELECT ... FOR UPDATE SKIP LOCKED). Empty when another
+    // worker (also on another instance) holds it, or when it was processed since the batch was read
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM PendingFileDeletion p WHERE p.id = :id")
+    Optional<PendingFileDeletion> claimById(@Param("id") Long id);
+
+    // The oldest queued deletions, for the admin overview
+    List<PendingFileDeletion> findAllByOrderByIdAsc(Pageable pageable);
+
+    // Records a failed attempt; does nothing if the row was processed in the meantime (e.g. by another instance)
+    @Transactional
+    @Modifying
+    @Query("UPDATE PendingFileDeletion p SET p.attempts = :attempts, p.nextAttemptAt = :nextAttemptAt, "
+            + "p.lastError = :lastError WHERE p.id = :id")
+    int reschedule(@Param("id") Long id, @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError);
+
+    // Points every queued deletion of oldUrl to newUrl, used when files are moved
+    @Transactional
+    @Modifying
+    @Query("UPDATE PendingFileDeletion p SET p.url = :newUrl WHERE p.url = :oldUrl")
+    int updateUrl(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    // Makes every queued deletion due right away (manual retry)
+    @Transactional
+    @Modifying
+    @Query("UPDATE PendingFileDeletion p SET p.nextAttemptAt = :now")
+    int rescheduleAll(@Param("now") Instant now);
+}
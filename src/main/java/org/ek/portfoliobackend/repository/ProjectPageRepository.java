@@ -0,0 +1,26 @@
+package org.ek.portfoliobackend.repository;
+
+import org.ek.portfoliobackend.model.CustomerType;
+import org.ek.portfoliobackend.model.WorkType;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+
+/**
+ * Paged project ids for GET /api/projects?size=... (part of ProjectRepository).
+ *
+ * The queries are built per request, so a filter that is not set is left out instead of written as
+ * "(:workType IS NULL OR ...)", which keeps MySQL from using the indexes as a range scan.
+ * Projects are ordered on (executionDate, id); projects without executionDate follow the database's
+ * ordering of NULL (lowest in MySQL and H2): last when newest first, first when oldest first.
+ */
+public interface ProjectPageRepository {
+
+    // One page of project ids (offset based, used when no cursor is given)
+    Slice<Long> findPageIds(WorkType workType, CustomerType customerType, boolean ascending, int page, int size);
+
+    // The next page of project ids after the keyset cursor (executionDate, id); executionDate is null for a
+    // cursor on a project without execution date
+    Slice<Long> findPageIdsAfter(WorkType workType, CustomerType customerType, boolean ascending,
+                                 LocalDate executionDate, Long id, int size);
+}
@@ -0,0 +1,118 @@
+package org.ek.portfoliobackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.ek.portfoliobackend.model.CustomerType;
+import org.ek.portfoliobackend.model.WorkType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Every keyset query is a single range on (execution_date, id) - the dated and the undated projects are read
+// with separate queries instead of one query with "OR execution_date IS NULL"
+class ProjectPageRepositoryImpl implements ProjectPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Long> findPageIds(WorkType workType, CustomerType customerType, boolean ascending, int page, int size) {
+        TypedQuery<Long> query = query(workType, customerType, null, ascending, "executionDate", "id");
+        query.setFirstResult(page * size);
+        query.setMaxResults(size + 1);
+        return slice(query.getResultList(), page, size);
+    }
+
+    @Override
+    public Slice<Long> findPageIdsAfter(WorkType workType, CustomerType customerType, boolean ascending,
+                                        LocalDate executionDate, Long id, int size) {
+        List<Long> ids = new ArrayList<>();
+        if (executionDate == null) {
+            ids.addAll(undated(workType, customerType, ascending, id, size + 1));
+            if (ascending && ids.size() <= size) {
+                // The undated projects came first, continue with the oldest dated project
+                ids.addAll(dated(workType, customerType, true, null, null, size + 1 - ids.size()));
+            }
+        } else {
+            ids.addAll(dated(workType, customerType, ascending, executionDate, id, size + 1));
+            if (!ascending && ids.size() <= size) {
+                // The undated projects come last, continue with the first of them
+                ids.addAll(undated(workType, customerType, false, null, size + 1 - ids.size()));
+            }
+        }
+        return slice(ids, 0, size);
+    }
+
+    // --- Helpers ---
+
+    // Dated projects after (executionDate, id), or all dated projects without a cursor
+    private List<Long> dated(WorkType workType, CustomerType customerType, boolean ascending,
+                             LocalDate executionDate, Long id, int limit) {
+        String keyset = executionDate == null
+                ? "p.executionDate IS NOT NULL"
+                : "(p.executionDate, p.id) " + (ascending ? ">" : "<") + " (:executionDate, :id)";
+        TypedQuery<Long> query = query(workType, customerType, keyset, ascending, "executionDate", "id");
+        if (executionDate != null) {
+            query.setParameter("executionDate", executionDate);
+            query.setParameter("id", id);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    // Undated projects after id, or all undated projects without a cursor
+    private List<Long> undated(WorkType workType, CustomerType customerType, boolean ascending, Long id, int limit) {
+        String keyset = id == null
+                ? "p.executionDate IS NULL"
+                : "p.executionDate IS NULL AND p.id " + (ascending ? ">" : "<") + " :id";
+        TypedQuery<Long> query = query(workType, customerType, keyset, ascending, "id");
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<Long> query(WorkType workType, CustomerType customerType, String keyset, boolean ascending,
+                                   String... orderBy) {
+        List<String> conditions = new ArrayList<>();
+        if (workType != null) {
+            conditions.add("p.workType = :workType");
+        }
+        if (customerType != null) {
+            conditions.add("p.customerType = :customerType");
+        }
+        if (keyset != null) {
+            conditions.add(keyset);
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT p.id FROM Project p");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        String direction = ascending ? " ASC" : " DESC";
+        List<String> order = new ArrayList<>();
+        for (String attribute : orderBy) {
+            order.add("p." + attribute + direction);
+        }
+        jpql.append(" ORDER BY ").append(String.join(", ", order));
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        if (workType != null) {
+            query.setParameter("workType", workType);
+        }
+        if (customerType != null) {
+            query.setParameter("customerType", customerType);
+        }
+        return query;
+    }
+
+    // One row more than the page size was read to tell whether there is a next page
+    private static Slice<Long> slice(List<Long> ids, int page, int size) {
+        boolean hasNext = ids.size() > size;
+        return new SliceImpl<>(hasNext ? ids.subList(0, size) : ids, PageRequest.of(page, size), hasNext);
+    }
+}
@@ -4,14 +4,16 @@ import org.ek.portfoliobackend.model.CustomerType;
 import org.ek.portfoliobackend.model.Project;
 import org.ek.portfoliobackend.model.WorkType;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectPageRepository {
 
     // Find all projects by service category
     List<Project> findByWorkType(WorkType workType);
@@ -37,12 +39,33 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find projects by customer type ordered by creation date descending - TODO: bliver ikke brugt, slet?
     List<Project> findByCustomerTypeOrderByCreationDateDesc(CustomerType customerType);
 
+    // The sorted finders below back the public listing (GET /api/projects), which maps every image of every project.
+    // The entity graph fetch-joins the images in the same SQL statement, so the listing costs one query
+    // regardless of how many projects it returns (instead of one extra lazy load per project).
+
+    // Find all projects with their images and dynamic sorting
+    @Override
+    @EntityGraph(attributePaths = "images")
+    List<Project> findAll(Sort sort);
+
     // Find projects by work type with dynamic sorting in any direction
+    @EntityGraph(attributePaths = "images")
     List<Project> findByWorkType(WorkType workType, Sort sort);
 
     // Find projects by customer type with dynamic sorting
+    @EntityGraph(attributePaths = "images")
     List<Project> findByCustomerType(CustomerType customerType, Sort sort);
 
     // Find projects by both workType and customerType with dynamic sorting
+    @EntityGraph(attributePaths = "images")
     List<Project> findByWorkTypeAndCustomerType(WorkType workType, CustomerType customerType, Sort sort);
-}
\ No newline at end of file
+
+    // ---- Pagination (GET /api/projects?size=...) ----
+    // A page is loaded in two steps: first the ids of the slice (index-only, bounded by the page size),
+    // then the projects with their images for exactly those ids. Fetch-joining images directly in a
+    // paged query would make Hibernate paginate in memory.
+
+    // Find the projects of a page with their images
+    @EntityGraph(attributePaths = "images")
+    List<Project> findByIdIn(Collection<Long> ids, Sort sort);
+}
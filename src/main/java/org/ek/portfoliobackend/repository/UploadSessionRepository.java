@@ -0,0 +1,14 @@
+package org.ek.portfoliobackend.repository;
+
+import org.ek.portfoliobackend.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    List<UploadSession> findByExpiresAtBefore(Instant now);
+}
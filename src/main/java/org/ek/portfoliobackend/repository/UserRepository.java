@@ -1,7 +1,10 @@
 package org.ek.portfoliobackend.repository;
 
 import org.ek.portfoliobackend.model.User;
+import org.ek.portfoliobackend.security.UserTokenVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +19,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    // Only the id and token version, checked for every authenticated request (see TokenVersionCache)
+    @Query("SELECT new org.ek.portfoliobackend.security.UserTokenVersion(u.id, u.tokenVersion) FROM User u WHERE u.username = :username")
+    Optional<UserTokenVersion> findTokenVersionByUsername(@Param("username") String username);
 }
@@ -0,0 +1,60 @@
+package org.ek.portfoliobackend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+// ---- PICKS THE BCRYPT COST FOR THIS MACHINE ----
+// Every step of the BCrypt cost doubles the hashing time. The time of one hash at the minimum cost is measured
+// at startup, and the cost is raised as far as it stays within the target time (never below the minimum).
+public final class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final int MEASUREMENTS = 3;
+
+    private BCryptCostCalibrator() {}
+
+    /**
+     * Measures this machine and returns the highest cost whose hash takes at most the target time.
+     *
+     * @param targetTime the time one password check should take
+     * @param minStrength the lowest cost that is ever used
+     * @param maxStrength the highest cost that is ever used
+     * @return the cost (log rounds) to use
+     */
+    public static int calibrate(Duration targetTime, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strengths must satisfy 4 <= min-strength <= max-strength <= 31");
+        }
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        String hash = encoder.encode("calibration"); // Also warms up the code path
+
+        // The fastest run is the least disturbed by other startup work
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            long start = System.nanoTime();
+            encoder.matches("calibration", hash);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+
+        Duration measured = Duration.ofNanos(fastestNanos);
+        int strength = strengthFor(targetTime, measured, minStrength, maxStrength);
+        log.info("BCrypt cost {} selected: cost {} takes {} ms, target is {} ms",
+                strength, minStrength, measured.toMillis(), targetTime.toMillis());
+        return strength;
+    }
+
+    // The highest cost within the target, given the time measured at minStrength
+    static int strengthFor(Duration targetTime, Duration measuredAtMin, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long nanos = Math.max(1, measuredAtMin.toNanos());
+        while (strength < maxStrength && nanos * 2 <= targetTime.toNanos()) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -1,17 +1,36 @@
 package org.ek.portfoliobackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 // ---- CHECKS EVERY HTTP-REQUEST FROM CLIENT FOR JWT-TOKEN ----
 @Component
@@ -21,9 +40,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private UserDetailsService userDetailsService;
 
-    public JwtAuthenticationFilter(JwtTokenGenerator jwtUtil, UserDetailsService userDetailsService) {
+    private TokenVersionCache tokenVersionCache;
+
+    private TokenDenyList tokenDenyList;
+
+    // true: the user is built from the token's claims and only its token version is checked;
+    // false: the user is loaded from the database on every request
+    private final boolean statelessAuth;
+
+    // Claims of tokens whose signature was already verified, keyed by SHA-256 of the token.
+    // An entry expires together with its token, so an expired token is parsed (and rejected) again
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtAuthenticationFilter(JwtTokenGenerator jwtUtil, UserDetailsService userDetailsService,
+                                   TokenVersionCache tokenVersionCache,
+                                   TokenDenyList tokenDenyList,
+                                   @Value("${app.security.jwt-cache.max-size:10000}") long maxCachedTokens,
+                                   @Value("${app.security.stateless-auth:true}") boolean statelessAuth) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
+        this.tokenDenyList = tokenDenyList;
+        this.statelessAuth = statelessAuth;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(Expiry.creating((String tokenHash, Claims claims) -> timeToExpiry(claims)))
+                .build();
     }
 
     @Override
@@ -36,21 +78,113 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract token
             String jwt = header.substring("Bearer ".length()); // Fjerner "Bearer "
 
-            // Extract username from token
-            String username = jwtUtil.extractUsername(jwt);
+            // Extract claims from token (signature only verified the first time the token is seen)
+            Claims claims = verifiedClaims(jwt);
 
-            // Load user fra UserDetails
-            UserDetails user = userDetailsService.loadUserByUsername(username);
+            // Expired or invalid tokens, refresh tokens, revoked (logged out) tokens and tokens of an older version
+            // or another user (the username was reused) do not authorize requests
+            boolean usable = claims != null
+                    && isAccessToken(claims) && !tokenDenyList.isDenied(claims.getId()) && isCurrent(claims);
 
-            // Create Authentication object
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            // Build user from the claims, or load user fra UserDetails
+            UserDetails user = !usable ? null
+                    : statelessAuth ? userFromClaims(claims)
+                    : userDetailsService.loadUserByUsername(claims.getSubject());
 
-            // Store Authentication in SecurityContext
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            // An expired or revoked token (logout, user deleted, password changed) continues without authentication,
+            // so public endpoints and /auth/refresh still work; protected endpoints reject it like a request without token
+            if (user != null) {
+                // Create Authentication object
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+                // Store Authentication in SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
 
         }
 
         // Continue filter chain with or without token
         filterChain.doFilter(request, response);
     }
+
+    // The claims of a valid token, or null if the token is expired, malformed or has an invalid signature
+    private Claims verifiedClaims(String jwt) {
+        String tokenHash = hash(jwt);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims == null) {
+            try {
+                claims = jwtUtil.extractAllClaims(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                return null;
+            }
+            // Tokens without expiration are never cached
+            if (claims.getExpiration() != null && claims.getExpiration().toInstant().isAfter(Instant.now())) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+        }
+        return claims;
+    }
+
+    // false if the user no longer exists, the username now belongs to another user or the token version was raised
+    private boolean isCurrent(Claims claims) {
+        Optional<UserTokenVersion> current = tokenVersionCache.currentVersion(claims.getSubject());
+        return current.isPresent()
+                && current.get().userId().equals(userId(claims))
+                && current.get().tokenVersion() == tokenVersion(claims);
+    }
+
+    // The user described by the token (already checked by isCurrent)
+    private UserDetails userFromClaims(Claims claims) {
+        return User.withUsername(claims.getSubject())
+                .password("") // Not needed, the token is the credential
+                .authorities(roles(claims))
+                .build();
+    }
+
+    // Tokens issued before refresh tokens were introduced have no "typ" claim and are access tokens
+    private static boolean isAccessToken(Claims claims) {
+        Object type = claims.get(JwtTokenGenerator.TOKEN_TYPE_CLAIM);
+        return type == null || JwtTokenGenerator.ACCESS_TOKEN.equals(type);
+    }
+
+    // Tokens issued before token versions were introduced have no "ver" claim and count as version 0
+    private static int tokenVersion(Claims claims) {
+        Object version = claims.get(JwtTokenGenerator.TOKEN_VERSION_CLAIM);
+        return version instanceof Number number ? number.intValue() : 0;
+    }
+
+    // Tokens issued before the "uid" claim was introduced belong to no user, so they are rejected (log in again)
+    private static Long userId(Claims claims) {
+        Object userId = claims.get(JwtTokenGenerator.USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    // The roles claim holds the serialized authorities, e.g. [{"authority": "ROLE_ADMIN"}]
+    private static List<GrantedAuthority> roles(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (claims.get(JwtTokenGenerator.ROLES_CLAIM) instanceof List<?> roles) {
+            for (Object role : roles) {
+                Object authority = role instanceof Map<?, ?> map ? map.get("authority") : role;
+                if (authority instanceof String name && !name.isBlank()) {
+                    authorities.add(new SimpleGrantedAuthority(name));
+                }
+            }
+        }
+        return authorities;
+    }
+
+    private static Duration timeToExpiry(Claims claims) {
+        Duration remaining = Duration.between(Instant.now(), claims.getExpiration().toInstant());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    // The raw token is not kept in memory as a cache key
+    private static String hash(String jwt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
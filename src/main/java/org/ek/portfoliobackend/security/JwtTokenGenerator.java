@@ -1,6 +1,7 @@
 package org.ek.portfoliobackend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -8,29 +9,86 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 
 
 // ---- GENERATE TOKEN ----
 @Component
 public class JwtTokenGenerator {
 
+    // Claim names read by JwtAuthenticationFilter
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+
+    // Access tokens authorize requests; refresh tokens can only be exchanged at /auth/refresh for a new pair
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
     @Value("${jwt.secret}")// Used for the server to sign and validate tokens
     private String secret;
 
+    @Value("${jwt.access-token-ttl:PT15M}") // Short, so a stolen access token is only useful for minutes
+    private Duration accessTokenTtl;
+
+    @Value("${jwt.refresh-token-ttl:P7D}")
+    private Duration refreshTokenTtl;
+
+    // Built once on first use (the secret never changes while running); both are thread safe
+    private volatile Key signingKey;
+    private volatile JwtParser parser;
+
 
     private Key getSigningKey() { // Converts the secret String into a secure HMAC-SHA-256 signing key
-        return Keys.hmacShaKeyFor(secret.getBytes()); // Secret must be of 32 chars for HS256
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)); // Secret must be of 32 chars for HS256
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey()) // Validates the signature
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
+    }
+
+    // Access token generator (creates the claims of a user)
+    public String generateToken(UserDetails user, UserTokenVersion version) {
+        return buildToken(user, version, ACCESS_TOKEN, accessTokenTtl);
+    }
+
+    // Refresh token generator, same claims but only accepted by /auth/refresh
+    public String generateRefreshToken(UserDetails user, UserTokenVersion version) {
+        return buildToken(user, version, REFRESH_TOKEN, refreshTokenTtl);
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
     }
 
-    // Token generator (creates the claims of a user)
-    public String generateToken(UserDetails user) {
+    private String buildToken(UserDetails user, UserTokenVersion version, String tokenType, Duration ttl) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .claim("roles", user.getAuthorities()) // Stores the user's authorities (ADMIN) inside the token
+                .setId(UUID.randomUUID().toString()) // jti: lets a single token be revoked (TokenDenyList)
+                .claim(TOKEN_TYPE_CLAIM, tokenType)
+                .claim(ROLES_CLAIM, user.getAuthorities()) // Stores the user's authorities (ADMIN) inside the token
+                .claim(USER_ID_CLAIM, version.userId()) // The token is rejected if the username now belongs to another user
+                .claim(TOKEN_VERSION_CLAIM, version.tokenVersion()) // The token is rejected once the user's version is raised
                 .setSubject(user.getUsername())
-                .setIssuedAt(new Date()) // Token generation date
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // Token expires after 24 hours
+                .setIssuedAt(new Date(now)) // Token generation date
+                .setExpiration(new Date(now + ttl.toMillis())) // Token expires after the ttl of its type
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256) // Signs the token with the HMAC-SHA256 algorithm
                 .compact(); // Converts the token to a String for frontend
 
@@ -39,9 +97,7 @@ public class JwtTokenGenerator {
 
     // Reads the token
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder() // Parsing the token
-                .setSigningKey(getSigningKey()) // Validates the signature
-                .build()
+        return getParser()
                 .parseClaimsJws(token) // Parses and validates the token
                 .getBody();
 
@@ -0,0 +1,119 @@
+package org.ek.portfoliobackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.ek.portfoliobackend.exception.custom.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// ---- TOKEN BUCKETS IN FRONT OF /auth/login ----
+// Every login attempt takes a token from the bucket of the client IP and from the bucket of the username.
+// An empty bucket answers 429 before any password is hashed, so a login storm can not occupy the hashing threads.
+// Buckets refill continuously and are forgotten after a while without attempts.
+@Component
+public class LoginThrottle {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final int ipCapacity;
+    private final int ipRefillPerMinute;
+    private final int usernameCapacity;
+    private final int usernameRefillPerMinute;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LoginThrottle(@Value("${app.security.login.ip-capacity:20}") int ipCapacity,
+                         @Value("${app.security.login.ip-refill-per-minute:10}") int ipRefillPerMinute,
+                         @Value("${app.security.login.username-capacity:5}") int usernameCapacity,
+                         @Value("${app.security.login.username-refill-per-minute:5}") int usernameRefillPerMinute) {
+        this(ipCapacity, ipRefillPerMinute, usernameCapacity, usernameRefillPerMinute, System::nanoTime);
+    }
+
+    LoginThrottle(int ipCapacity, int ipRefillPerMinute, int usernameCapacity, int usernameRefillPerMinute,
+                  LongSupplier nanoClock) {
+        if (ipCapacity < 1 || ipRefillPerMinute < 1 || usernameCapacity < 1 || usernameRefillPerMinute < 1) {
+            throw new IllegalArgumentException("app.security.login capacities and refill rates must be at least 1");
+        }
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerMinute = ipRefillPerMinute;
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerMinute = usernameRefillPerMinute;
+        this.nanoClock = nanoClock;
+        // A bucket that was not used until it is full again can be dropped
+        this.ipBuckets = buckets(ipCapacity, ipRefillPerMinute);
+        this.usernameBuckets = buckets(usernameCapacity, usernameRefillPerMinute);
+    }
+
+    /**
+     * Takes a token for one login attempt.
+     *
+     * @param clientAddress the IP address of the client
+     * @param username the username the client tries to log in as
+     * @throws TooManyRequestsException if the IP or the username has no tokens left
+     */
+    public void check(String clientAddress, String username) {
+        long now = nanoClock.getAsLong();
+
+        TokenBucket ipBucket = ipBuckets.get(String.valueOf(clientAddress),
+                key -> new TokenBucket(ipCapacity, ipRefillPerMinute, now));
+        long ipWait = ipBucket.tryConsume(now);
+        if (ipWait > 0) {
+            throw new TooManyRequestsException("Too many login attempts, try again later", toSeconds(ipWait));
+        }
+
+        // Usernames are matched case-insensitively, so "Admin" and "admin" share a bucket
+        String usernameKey = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        TokenBucket usernameBucket = usernameBuckets.get(usernameKey,
+                key -> new TokenBucket(usernameCapacity, usernameRefillPerMinute, now));
+        long usernameWait = usernameBucket.tryConsume(now);
+        if (usernameWait > 0) {
+            throw new TooManyRequestsException("Too many login attempts, try again later", toSeconds(usernameWait));
+        }
+    }
+
+    private Cache<String, TokenBucket> buckets(int capacity, int refillPerMinute) {
+        return Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(NANOS_PER_MINUTE * capacity / refillPerMinute + NANOS_PER_MINUTE))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    // Tokens are counted in nanos of refill time, so refilling needs no floating point
+    private static final class TokenBucket {
+
+        private final long capacityNanos;
+        private final long nanosPerToken;
+        private long availableNanos;
+        private long updatedAt;
+
+        private TokenBucket(int capacity, int refillPerMinute, long now) {
+            this.nanosPerToken = NANOS_PER_MINUTE / refillPerMinute;
+            this.capacityNanos = nanosPerToken * capacity;
+            this.availableNanos = capacityNanos;
+            this.updatedAt = now;
+        }
+
+        // 0 if a token was taken, otherwise the nanos until the next token is available
+        private synchronized long tryConsume(long now) {
+            availableNanos = Math.min(capacityNanos, availableNanos + Math.max(0, now - updatedAt));
+            updatedAt = now;
+            if (availableNanos >= nanosPerToken) {
+                availableNanos -= nanosPerToken;
+                return 0;
+            }
+            return nanosPerToken - availableNanos;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.ek.portfoliobackend.security;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,12 +11,17 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 
 // ---- SECURITY CONFIGURATION ----
 
@@ -23,6 +30,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity // Protects specified endpoints
 public class SecurityConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
+    static final String UPLOADS_PATTERN = "/uploads/**";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
@@ -38,8 +49,8 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // Public
-                        .requestMatchers("/auth/login").permitAll()
-                        .requestMatchers("/uploads/**").permitAll()
+                        .requestMatchers("/auth/login", "/auth/refresh", "/auth/logout").permitAll()
+                        // "/uploads/**" never reaches this chain, see uploadsBypassSecurity
                         .requestMatchers(HttpMethod.GET, "/api/projects/**").permitAll()
 
                         // Admin
@@ -57,15 +68,47 @@ public class SecurityConfig {
                 .build();
     }
 
+    // Uploaded images are public, never change and are by far the most requested URLs, so they skip the whole
+    // security filter chain (no JWT parsing, security context or header writers). UploadController sets nosniff itself,
+    // and CORS for them is applied by Spring MVC (WebConfig)
+    @Bean
+    public WebSecurityCustomizer uploadsBypassSecurity() {
+        return web -> web.ignoring().requestMatchers(UPLOADS_PATTERN);
+    }
+
+    // JwtAuthenticationFilter is a @Component, so Spring Boot would also register it as a servlet filter for every URL
+    // (uploads included); it only belongs in the security chain
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     // Creates authenticationManager-object with: userDetailsService, PasswordEncoder
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
 
+    // Used for login (AuthenticationManager) and for new passwords (UserServiceImpl); hashes on a bounded pool.
+    // New hashes are stored as "{bcrypt}$2a$<cost>$...", hashes without prefix (older users) are checked as BCrypt.
+    // After a successful login an older or cheaper hash is replaced (UserDetailsServiceImpl.updatePassword)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password-hashing.threads:2}") int threads,
+                                           @Value("${app.security.password-hashing.queue-capacity:16}") int queueCapacity,
+                                           @Value("${app.security.password-hashing.timeout:PT5S}") Duration timeout,
+                                           @Value("${app.security.password-hashing.strength:0}") int strength,
+                                           @Value("${app.security.password-hashing.target-time:PT0.25S}") Duration targetTime,
+                                           @Value("${app.security.password-hashing.min-strength:10}") int minStrength,
+                                           @Value("${app.security.password-hashing.max-strength:16}") int maxStrength) {
+        // strength 0 = calibrate to the target time on this machine
+        int cost = strength > 0 ? strength : BCryptCostCalibrator.calibrate(targetTime, minStrength, maxStrength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating, threads, queueCapacity, timeout);
     }
 
 
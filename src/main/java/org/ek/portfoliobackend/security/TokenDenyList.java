@@ -0,0 +1,89 @@
+package org.ek.portfoliobackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import org.ek.portfoliobackend.model.DeniedToken;
+import org.ek.portfoliobackend.repository.DeniedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+// ---- REVOKED TOKENS (LOGOUT, USED REFRESH TOKENS) ----
+// Holds the jti of every revoked token that has not expired yet. An entry is dropped when its token expires,
+// because an expired token is rejected anyway, so the list only ever holds the tokens of the last refresh-token-ttl.
+// The denied_token table is the source of truth: deny() inserts the jti, so a token is revoked exactly once, across
+// requests, instances and restarts (a refresh token that was used before a restart stays used).
+// Each request only checks the in-memory copy, loaded from the table on startup. That copy is per instance and
+// holds at most max-size tokens, so a revoked access token that was denied on another instance, or evicted here,
+// is accepted until it expires (access-token-ttl). Refresh tokens are not affected: refresh always goes through deny().
+@Component
+public class TokenDenyList {
+
+    private final DeniedTokenRepository deniedTokenRepository;
+    private final Cache<String, Instant> deniedTokens;
+
+    public TokenDenyList(DeniedTokenRepository deniedTokenRepository,
+                         @Value("${app.security.token-deny-list.max-size:100000}") long maxSize) {
+        this.deniedTokenRepository = deniedTokenRepository;
+        this.deniedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String jti, Instant expiresAt) -> timeUntil(expiresAt)))
+                .build();
+    }
+
+    @PostConstruct
+    void loadDeniedTokens() {
+        for (DeniedToken token : deniedTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            deniedTokens.put(token.getJti(), token.getExpiresAt());
+        }
+    }
+
+    /**
+     * Revokes the token with this id until it expires.
+     *
+     * @return true if this call revoked the token, false if it was already revoked (or has no id or has expired)
+     */
+    public boolean deny(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.toInstant().isAfter(Instant.now())) {
+            return false;
+        }
+        Instant expiry = expiresAt.toInstant();
+        if (deniedTokens.asMap().putIfAbsent(jti, expiry) != null) {
+            return false;
+        }
+        try {
+            deniedTokenRepository.insert(jti, expiry);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Revoked by another instance (or before a restart)
+            return false;
+        } catch (RuntimeException e) {
+            // Not persisted (e.g. database unavailable): the token is not revoked, so a retry can succeed
+            deniedTokens.asMap().remove(jti, expiry);
+            throw e;
+        }
+    }
+
+    public boolean isDenied(String jti) {
+        return jti != null && deniedTokens.getIfPresent(jti) != null;
+    }
+
+    // Rows of expired tokens are no longer needed: the token itself is rejected
+    @Scheduled(fixedDelayString = "${app.security.token-deny-list.cleanup-interval-ms:3600000}",
+            initialDelayString = "${app.security.token-deny-list.cleanup-interval-ms:3600000}")
+    public int deleteExpiredTokens() {
+        return deniedTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private static Duration timeUntil(Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -0,0 +1,65 @@
+package org.ek.portfoliobackend.security;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.ek.portfoliobackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// ---- CURRENT TOKEN VERSION PER USER ----
+// Replaces loading the whole user on every request: a token is only accepted while its "uid" and "ver" claims match.
+// Entries are evicted when a user is changed on this instance; other instances see the change after ttl.
+// The query runs on its own virtual thread instead of inside the cache's map lock, where a virtual request
+// thread would be pinned to its carrier for the whole JDBC round trip (and block other keys in the same bin).
+@Component
+public class TokenVersionCache {
+
+    // Empty for users that do not exist (deleted), so their tokens are rejected without a query per request
+    private final AsyncLoadingCache<String, Optional<UserTokenVersion>> versions;
+    private final ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${app.security.token-version-cache.ttl:PT1M}") Duration ttl,
+                             @Value("${app.security.token-version-cache.max-size:1000}") long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .executor(loader)
+                .buildAsync(userRepository::findTokenVersionByUsername);
+    }
+
+    // The id and current token version of the user, or empty if the user does not exist
+    public Optional<UserTokenVersion> currentVersion(String username) {
+        try {
+            return versions.get(username).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Call after the token version or username of a user was changed
+    public void evict(String username) {
+        versions.synchronous().invalidate(username);
+    }
+
+    // Call after users were deleted
+    public void clear() {
+        versions.synchronous().invalidateAll();
+    }
+
+    // Waits for queries that are still running, so none of them uses the datasource after it is closed
+    @PreDestroy
+    void shutdown() {
+        loader.close();
+    }
+}
@@ -2,13 +2,19 @@ package org.ek.portfoliobackend.security;
 
 import org.ek.portfoliobackend.model.User;
 import org.ek.portfoliobackend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
     private final UserRepository userRepository;
 
@@ -31,6 +37,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .build();
     }
 
+    // Called by Spring after a successful login when the stored hash is outdated (no {bcrypt} prefix or lower cost).
+    // Same password, so the token version stays and existing tokens remain valid
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(storedUser -> {
+            storedUser.setPassword(newPassword);
+            userRepository.save(storedUser);
+            log.info("Re-hashed password of user {}", user.getUsername());
+        });
 
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(user)
+                .password(newPassword)
+                .build();
     }
 
+
+    }
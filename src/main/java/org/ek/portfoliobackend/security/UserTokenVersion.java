@@ -0,0 +1,5 @@
+package org.ek.portfoliobackend.security;
+
+// The id and current token version of a user. A token is only accepted for the user id it was issued to, so a
+// username that is reused (user deleted and recreated, or renamed) does not make the old owner's tokens valid again
+public record UserTokenVersion(Long userId, int tokenVersion) {}
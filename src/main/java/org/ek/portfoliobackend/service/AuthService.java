@@ -1,5 +1,11 @@
 package org.ek.portfoliobackend.service;
 
+import org.ek.portfoliobackend.dto.response.LoginResponse;
+
 public interface AuthService {
-    String login(String username, String password);
+    LoginResponse login(String username, String password);
+
+    LoginResponse refresh(String refreshToken);
+
+    void logout(String accessToken, String refreshToken);
 }
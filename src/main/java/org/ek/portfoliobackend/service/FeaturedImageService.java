@@ -0,0 +1,48 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.dto.response.FeaturedImageResponse;
+import org.ek.portfoliobackend.model.Image;
+import org.ek.portfoliobackend.model.Project;
+import org.ek.portfoliobackend.model.WorkType;
+
+import java.util.List;
+
+/**
+ * Service interface for the featured image of each work type.
+ * Keeps the featured_image lookup table and Image.isFeatured in sync; the write methods must be called
+ * inside the transaction of the change (they only modify managed entities).
+ */
+public interface FeaturedImageService {
+
+    /**
+     * Get the featured images, at most one per work type (served from memory)
+     *
+     * @return the featured images ordered by work type
+     */
+    List<FeaturedImageResponse> getFeaturedImages();
+
+    /**
+     * Make the image the featured image of its project's work type.
+     * The previously featured image of that work type (if any) is unfeatured.
+     *
+     * @param image a persisted image with its project
+     */
+    void feature(Image image);
+
+    /**
+     * Unfeature the image if it is the featured image of its project's work type.
+     * Must be called before the image is deleted.
+     *
+     * @param image a persisted image with its project
+     */
+    void unfeature(Image image);
+
+    /**
+     * Unfeature the project's image if it was the featured image of the previous work type,
+     * after the project's work type has been changed.
+     *
+     * @param project the project with its new work type
+     * @param previousWorkType the work type before the change
+     */
+    void workTypeChanged(Project project, WorkType previousWorkType);
+}
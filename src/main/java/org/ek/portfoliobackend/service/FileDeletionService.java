@@ -0,0 +1,43 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.dto.response.PendingFileDeletionResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface for the durable file deletion queue.
+ * Files are queued inside the transaction that removes their images and deleted by a background worker
+ * after commit, in batches and with retries, through ImageStorageService.
+ */
+public interface FileDeletionService {
+
+    /**
+     * Queue stored files for deletion. Must be called inside the transaction that removes the images;
+     * nothing is deleted if that transaction rolls back.
+     *
+     * @param urls the URLs/paths of the files (null or blank URLs are ignored)
+     */
+    void enqueue(Collection<String> urls);
+
+    /**
+     * Delete the files whose deletion is due, in batches, until none are left
+     *
+     * @return the number of files deleted
+     */
+    int processDueDeletions();
+
+    /**
+     * Get the files that are still queued (waiting or failing), at most one batch (app.storage.deletion.batch-size)
+     *
+     * @return the oldest queued deletions, oldest first
+     */
+    List<PendingFileDeletionResponse> getPendingDeletions();
+
+    /**
+     * Make every queued deletion due right away and process the queue
+     *
+     * @return the number of files deleted
+     */
+    int retryAll();
+}
@@ -0,0 +1,50 @@
+package org.ek.portfoliobackend.service;
+
+import java.util.List;
+
+/**
+ * Service interface for downscaled copies (derivatives) of uploaded images.
+ * Derivatives are stored next to the original as "name-{width}w.jpg", so their URLs can be derived
+ * from the original URL without a lookup.
+ */
+public interface ImageDerivativeService {
+
+    /**
+     * Widths (in pixels) of the generated derivatives
+     */
+    List<Integer> WIDTHS = List.of(320, 800, 1600);
+
+    /**
+     * Generate all derivatives of a stored image that do not exist yet
+     *
+     * @param url the URL/path of the stored original
+     * @return the pixel width of the original once all derivatives exist, or null if none can be generated
+     *         (not in the upload folder, missing, or not readable by ImageIO)
+     */
+    Integer generateDerivatives(String url);
+
+    /**
+     * Whether derivatives can be generated for the image (only for images in the local upload folder).
+     * Whether they exist is recorded in Image.originalWidth.
+     *
+     * @param url the URL/path of the original
+     * @return true if the image is stored in the upload folder
+     */
+    static boolean hasDerivatives(String url) {
+        return url != null && url.contains("/uploads/");
+    }
+
+    /**
+     * Build the URL of a derivative, e.g. "/uploads/abc.png" -> "/uploads/abc-320w.jpg"
+     *
+     * @param url the URL/path (or filename) of the original
+     * @param width the width of the derivative
+     * @return the URL/path (or filename) of the derivative
+     */
+    static String derivativeUrl(String url, int width) {
+        int lastSlash = url.lastIndexOf('/');
+        int lastDot = url.lastIndexOf('.');
+        String base = lastDot > lastSlash ? url.substring(0, lastDot) : url;
+        return base + "-" + width + "w.jpg";
+    }
+}
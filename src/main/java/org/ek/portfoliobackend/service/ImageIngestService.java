@@ -0,0 +1,22 @@
+package org.ek.portfoliobackend.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * Service interface for storing all image files of an upload request.
+ * Builds on ImageStorageService, but stores the files concurrently.
+ */
+public interface ImageIngestService {
+
+    /**
+     * Store all files and return their URLs in the same order as the files.
+     * If any file cannot be stored, every file stored by this call is deleted again before the failure is thrown.
+     *
+     * @param files the files to store
+     * @return the URLs/paths where the files were stored, in the order of the files
+     * @throws RuntimeException if one of the files cannot be stored
+     */
+    List<String> storeAll(List<MultipartFile> files);
+}
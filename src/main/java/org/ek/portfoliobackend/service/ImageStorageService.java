@@ -2,6 +2,8 @@ package org.ek.portfoliobackend.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 /**
  * Service interface for handling file storage operations.
  * Abstracts the underlying storage implementation (local filesystem, cloud storage, etc.)
@@ -17,6 +19,19 @@ public interface ImageStorageService {
      */
     String store(MultipartFile file);
 
+    /**
+     * Store file content read from a stream, e.g. a part of a multipart request that is parsed while it arrives.
+     * The content is written once, directly to its final location, and only becomes visible when complete.
+     *
+     * @param content the file content (read to the end, not closed)
+     * @param originalFilename the client's filename, used for the extension (may be null)
+     * @param contentType the content type of the file (may be null)
+     * @return the URL/path where the file was stored
+     * @throws IllegalArgumentException if the content is empty
+     * @throws RuntimeException if the file cannot be stored
+     */
+    String store(InputStream content, String originalFilename, String contentType);
+
     /**
      * Delete a file by its URL/path
      *
@@ -24,4 +39,17 @@ public interface ImageStorageService {
      * @throws RuntimeException if the file cannot be deleted
      */
     void delete(String url);
+
+    /**
+     * Delete a file by its URL/path as part of the caller's transaction, so any bookkeeping (e.g. a reference count)
+     * commits or rolls back together with the caller's own changes. Used by the file deletion queue, which removes
+     * its row in the same transaction, so a retried deletion is never applied twice.
+     * The default is delete(url), for storages without bookkeeping in the database.
+     *
+     * @param url the URL/path of the file to delete
+     * @throws RuntimeException if the file cannot be deleted
+     */
+    default void deleteInCurrentTransaction(String url) {
+        delete(url);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.model.CustomerType;
+import org.ek.portfoliobackend.model.WorkType;
+
+import java.util.Optional;
+
+/**
+ * Service interface for pre-serialized snapshots of the public project listing.
+ * Keeps the already encoded JSON for every filter combination, so GET /api/projects can be answered
+ * without touching the database or the JSON serializer.
+ */
+public interface PortfolioSnapshotService {
+
+    /**
+     * Get the snapshot for a filter combination
+     *
+     * @param workType optional work type filter
+     * @param customerType optional customer type filter
+     * @param sortDirection "asc" for oldest first, anything else for newest first
+     * @return the snapshot, or empty if snapshots are disabled or currently being rebuilt after a change
+     */
+    Optional<PortfolioSnapshot> getSnapshot(WorkType workType, CustomerType customerType, String sortDirection);
+
+    /**
+     * Rebuild all snapshots from the database
+     */
+    void rebuild();
+
+    /**
+     * Encoded listing for one filter combination.
+     *
+     * @param json UTF-8 encoded JSON array of ProjectResponse
+     * @param gzip the same JSON, gzip compressed
+     * @param etag strong ETag of the json bytes
+     * @param gzipEtag strong ETag of the gzip bytes
+     */
+    record PortfolioSnapshot(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+}
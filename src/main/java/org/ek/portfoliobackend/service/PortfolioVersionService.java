@@ -0,0 +1,33 @@
+package org.ek.portfoliobackend.service;
+
+/**
+ * Service interface for version stamps of the public portfolio.
+ * The stamps change whenever a project (or one of its images) is created, updated or deleted,
+ * so the controller can answer conditional GET requests with 304 without loading or serializing anything.
+ */
+public interface PortfolioVersionService {
+
+    /**
+     * Get the version of the whole portfolio (used by GET /api/projects)
+     *
+     * @return the current portfolio version
+     */
+    VersionStamp getPortfolioVersion();
+
+    /**
+     * Get the version of a single project (used by GET /api/projects/{id})
+     *
+     * @param projectId the project id
+     * @return the current version of the project
+     */
+    VersionStamp getProjectVersion(Long projectId);
+
+    /**
+     * A version stamp that can be sent as validators in a response.
+     *
+     * @param etag strong ETag (quoted) that changes with every new version
+     * @param lastModified epoch millis of the last change, for Last-Modified / If-Modified-Since
+     */
+    record VersionStamp(String etag, long lastModified) {
+    }
+}
@@ -4,6 +4,7 @@ import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
 import org.ek.portfoliobackend.dto.request.ImageUploadRequest;
 import org.ek.portfoliobackend.dto.request.UpdateImageRequest;
 import org.ek.portfoliobackend.dto.request.UpdateProjectRequest;
+import org.ek.portfoliobackend.dto.response.ProjectPageResponse;
 import org.ek.portfoliobackend.dto.response.ProjectResponse;
 import org.ek.portfoliobackend.model.CustomerType;
 import org.ek.portfoliobackend.model.WorkType;
@@ -20,6 +21,11 @@ public interface ProjectService {
                                   List<MultipartFile> images,
                                   List<ImageUploadRequest> imageMetadata);
 
+    //create new project with images that are already stored (streaming upload); the files are deleted if it fails
+    ProjectResponse createProjectWithStoredImages(CreateProjectRequest request,
+                                                  List<String> imageUrls,
+                                                  List<ImageUploadRequest> imageMetadata);
+
     //update existing project
     ProjectResponse updateProject(Long id, UpdateProjectRequest request);
 
@@ -43,6 +49,10 @@ public interface ProjectService {
     //get projects filtered by service category and customer type
     List<ProjectResponse> getProjectsByFilters(WorkType workType, CustomerType customerType, String sortDirection);
 
+    //get one page of filtered projects, either by page number or by the cursor from the previous page
+    ProjectPageResponse getProjectPage(WorkType workType, CustomerType customerType, String sortDirection,
+                                       int page, int size, String cursor);
+
     //get projects within date range
     List<ProjectResponse> getProjectsByDateRange(LocalDate startDate, LocalDate endDate);
 
@@ -53,6 +63,9 @@ public interface ProjectService {
     //add images to existing project
     ProjectResponse addImagesToProject(Long projectId, List<MultipartFile> images, List<ImageUploadRequest> imageMetadata);
 
+    //add images from completed upload sessions (uploadSessionId of each metadata entry) to existing project
+    ProjectResponse addImagesFromUploadSessions(Long projectId, List<ImageUploadRequest> imageMetadata);
+
     //update image metadata for existing image in project
     ProjectResponse updateImageMetadata(Long projectId, Long imageId, UpdateImageRequest request);
 
@@ -0,0 +1,23 @@
+package org.ek.portfoliobackend.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+
+/**
+ * Service interface for creating projects from a multipart request that is parsed while it is received.
+ * Each image part is written directly to ImageStorageService, without a servlet temp file in between.
+ */
+public interface StreamingProjectUploadService {
+
+    /**
+     * Create a project from a multipart/form-data request with the same parts as POST /api/projects:
+     * "data" (CreateProjectRequest JSON), "imageMetadata" (JSON array) and one "images" part per image.
+     * Sending "data" and "imageMetadata" before the images lets a mismatch fail before all images are stored.
+     *
+     * @param request the unparsed multipart request
+     * @return the created project
+     * @throws IllegalArgumentException if the request is not valid multipart, a part is invalid or too large
+     * @throws RuntimeException if the images cannot be stored
+     */
+    ProjectResponse createProject(HttpServletRequest request);
+}
@@ -0,0 +1,25 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.dto.response.UploadGcStatusResponse;
+
+/**
+ * Service interface for the garbage collector of orphaned upload files (files no Image.url refers to).
+ * The upload folder is scanned incrementally, a bounded batch of files per run, continuing after the last
+ * file of the previous run. Orphans are first moved to a quarantine folder and deleted after a grace period.
+ */
+public interface UploadGarbageCollectionService {
+
+    /**
+     * Scan the next batch of files, quarantine the orphans among them and purge expired quarantined files
+     *
+     * @return the collector status after the run
+     */
+    UploadGcStatusResponse runIncrementalScan();
+
+    /**
+     * Get the progress and totals of the collector since startup
+     *
+     * @return the collector status
+     */
+    UploadGcStatusResponse getStatus();
+}
@@ -0,0 +1,121 @@
+package org.ek.portfoliobackend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Directory layout of the upload folder.
+ *
+ * New files are sharded into two directory levels taken from the SHA-256 of the filename,
+ * e.g. "3f2a...jpg" -> "/uploads/9c/41/3f2a...jpg", so no directory holds more than a few files.
+ * Files uploaded before the sharded layout lie directly in the upload folder ("/uploads/uuid.jpg")
+ * until UploadLayoutMigration has moved them; both forms are resolved.
+ */
+public final class UploadLayout {
+
+    public static final String URL_PREFIX = "/uploads/";
+
+    // Orphaned files are moved here before they are deleted (see UploadGarbageCollectionService); never served
+    public static final String QUARANTINE_DIR = ".quarantine";
+
+    // Chunks of resumable uploads (see UploadSessionService); never served
+    public static final String SESSIONS_DIR = ".sessions";
+
+    private UploadLayout() {}
+
+    /**
+     * Build the sharded path of a file, relative to the upload folder
+     *
+     * @param filename the filename (without directories)
+     * @return the relative path, e.g. "9c/41/3f2a...jpg"
+     */
+    public static String shardedPath(String filename) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(filename.getBytes(StandardCharsets.UTF_8));
+            HexFormat hex = HexFormat.of();
+            return hex.toHexDigits(hash[0]) + "/" + hex.toHexDigits(hash[1]) + "/" + filename;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Whether the relative path is already in the sharded layout
+     *
+     * @param relativePath path relative to the upload folder
+     * @return true if the file lies in the shard directory given by its filename
+     */
+    public static boolean isSharded(String relativePath) {
+        String filename = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        return relativePath.equals(shardedPath(filename));
+    }
+
+    /**
+     * Build the URL of a file in the upload folder
+     *
+     * @param relativePath path relative to the upload folder
+     * @return the URL, e.g. "/uploads/9c/41/3f2a...jpg"
+     */
+    public static String url(String relativePath) {
+        return URL_PREFIX + relativePath;
+    }
+
+    /**
+     * Extract the path relative to the upload folder from a URL.
+     * Accepts relative URLs ("/uploads/..."), absolute URLs ("https://host/uploads/...") and bare filenames.
+     *
+     * @param url the URL/path of the file
+     * @return the relative path, or an empty string if the URL is null or blank
+     */
+    public static String relativePath(String url) {
+        if (url == null || url.isBlank()) {
+            return "";
+        }
+        int prefix = url.indexOf(URL_PREFIX);
+        if (prefix >= 0) {
+            return url.substring(prefix + URL_PREFIX.length());
+        }
+        return url.startsWith("/") ? url.substring(1) : url;
+    }
+
+    /**
+     * Whether a path is hidden (a segment starting with "."), i.e. temp files and the quarantine folder
+     *
+     * @param relativePath path relative to the upload folder
+     * @return true if the path must not be served
+     */
+    public static boolean isHidden(String relativePath) {
+        for (String segment : relativePath.split("/")) {
+            if (segment.startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolve a relative path inside the upload folder.
+     * Sikkerhedstjek: stier der peger udenfor upload-mappen (fx "../") afvises.
+     *
+     * @param uploadPath the absolute, normalized upload folder
+     * @param relativePath path relative to the upload folder
+     * @return the absolute path of the file
+     * @throws SecurityException if the path points outside the upload folder
+     */
+    public static Path resolve(Path uploadPath, String relativePath) {
+        Path path;
+        try {
+            path = uploadPath.resolve(relativePath).normalize();
+        } catch (InvalidPathException e) {
+            throw new SecurityException("Invalid upload path: " + relativePath);
+        }
+        if (!path.startsWith(uploadPath) || path.equals(uploadPath) || relativePath.indexOf('\\') >= 0) {
+            throw new SecurityException("Cannot access file outside upload directory");
+        }
+        return path;
+    }
+}
@@ -0,0 +1,63 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.dto.request.CreateUploadSessionRequest;
+import org.ek.portfoliobackend.dto.response.UploadSessionResponse;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for resumable, chunked uploads of large images.
+ *
+ * A client creates a session for each file, sends the chunks (in any order, in parallel) and, after a broken
+ * connection, asks for the session to resend only the missing chunks. A complete session is turned into an
+ * image by ProjectService.addImagesFromUploadSessions, which stores it through ImageStorageService.
+ */
+public interface UploadSessionService {
+
+    /**
+     * Start a new upload session
+     *
+     * @param request filename, content type and size of the file
+     * @return the session, with the chunk size to use
+     * @throws IllegalArgumentException if the file is larger than allowed
+     */
+    UploadSessionResponse createSession(CreateUploadSessionRequest request);
+
+    /**
+     * Get the state of a session, including the chunks that are still missing
+     *
+     * @param sessionId the id of the session
+     * @return the session
+     * @throws org.ek.portfoliobackend.exception.custom.ResourceNotFoundException if the session does not exist or expired
+     */
+    UploadSessionResponse getSession(String sessionId);
+
+    /**
+     * Store one chunk. Sending a chunk again replaces it, so a retry is always safe.
+     *
+     * @param sessionId the id of the session
+     * @param offset the offset of the chunk in the file (a multiple of the chunk size)
+     * @param length the length of the chunk (chunk size, or the rest of the file for the last chunk)
+     * @param content the chunk content
+     * @return the session after the chunk was stored
+     * @throws IllegalArgumentException if offset or length do not match the chunks of the session
+     */
+    UploadSessionResponse writeChunk(String sessionId, long offset, long length, InputStream content);
+
+    /**
+     * Store the complete file through ImageStorageService and end the session.
+     * Must be called in a transaction: the session is removed on commit, and stays (with its chunks) on rollback.
+     *
+     * @param sessionId the id of the session
+     * @return the URL of the stored file
+     * @throws IllegalArgumentException if chunks are still missing
+     */
+    String completeSession(String sessionId);
+
+    /**
+     * Cancel a session and delete its chunks
+     *
+     * @param sessionId the id of the session
+     */
+    void deleteSession(String sessionId);
+}
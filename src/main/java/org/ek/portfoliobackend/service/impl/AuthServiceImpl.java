@@ -1,11 +1,20 @@
 package org.ek.portfoliobackend.service.impl;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.ek.portfoliobackend.dto.response.LoginResponse;
 import org.ek.portfoliobackend.security.JwtTokenGenerator;
+import org.ek.portfoliobackend.security.TokenDenyList;
+import org.ek.portfoliobackend.security.TokenVersionCache;
+import org.ek.portfoliobackend.security.UserTokenVersion;
 import org.ek.portfoliobackend.service.AuthService;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,13 +24,24 @@ public class AuthServiceImpl implements AuthService {
 
     private final JwtTokenGenerator jwtTokenGenerator;
 
-    public AuthServiceImpl(AuthenticationManager authenticationManager, JwtTokenGenerator jwtTokenGenerator) {
+    private final TokenVersionCache tokenVersionCache;
+
+    private final TokenDenyList tokenDenyList;
+
+    private final UserDetailsService userDetailsService;
+
+    public AuthServiceImpl(AuthenticationManager authenticationManager, JwtTokenGenerator jwtTokenGenerator,
+                           TokenVersionCache tokenVersionCache, TokenDenyList tokenDenyList,
+                           UserDetailsService userDetailsService) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenGenerator = jwtTokenGenerator;
+        this.tokenVersionCache = tokenVersionCache;
+        this.tokenDenyList = tokenDenyList;
+        this.userDetailsService = userDetailsService;
     }
 
     @Override
-    public String login(String username, String password) {
+    public LoginResponse login(String username, String password) {
 
         // 1. Authenticate user (Spring Security handles password check)
         Authentication authentication = authenticationManager.authenticate(
@@ -31,9 +51,81 @@ public class AuthServiceImpl implements AuthService {
         // 2. Extract authenticated user
         UserDetails user = (UserDetails) authentication.getPrincipal();
 
-        // 3. Generate JWT token
-        return jwtTokenGenerator.generateToken(user);
+        // 3. Generate access + refresh token with the user's id and current token version
+        tokenVersionCache.evict(user.getUsername());
+        UserTokenVersion version = tokenVersionCache.currentVersion(user.getUsername())
+                .orElseThrow(() -> new BadCredentialsException("Bad credentials"));
+        return issueTokens(user, version);
     }
 
-}
+    @Override
+    public LoginResponse refresh(String refreshToken) {
+
+        // 1. Verify signature, expiry and type; a refresh token can be used once (rotation)
+        Claims claims = verify(refreshToken);
+        if (claims == null
+                || !JwtTokenGenerator.REFRESH_TOKEN.equals(claims.get(JwtTokenGenerator.TOKEN_TYPE_CLAIM, String.class))
+                || tokenDenyList.isDenied(claims.getId())) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        // 2. The user must still exist, be the user the token was issued to and have the token version it was
+        //    issued for (read from the database, so a password change on another instance is seen right away)
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        tokenVersionCache.evict(user.getUsername());
+        UserTokenVersion version = tokenVersionCache.currentVersion(user.getUsername()).orElse(null);
+        Number issuedUserId = claims.get(JwtTokenGenerator.USER_ID_CLAIM, Number.class);
+        Integer issuedVersion = claims.get(JwtTokenGenerator.TOKEN_VERSION_CLAIM, Integer.class);
+        if (version == null
+                || issuedUserId == null
+                || issuedUserId.longValue() != version.userId()
+                || (issuedVersion == null ? 0 : issuedVersion) != version.tokenVersion()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        // 3. Revoke the used refresh token and issue a new pair; of two concurrent refreshes with the same
+        //    token only the one that revoked it gets a pair
+        if (!tokenDenyList.deny(claims.getId(), claims.getExpiration())) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        return issueTokens(user, version);
+    }
 
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        // Invalid or expired tokens are ignored: there is nothing left to revoke
+        for (String token : new String[] {accessToken, refreshToken}) {
+            Claims claims = verify(token);
+            if (claims != null) {
+                tokenDenyList.deny(claims.getId(), claims.getExpiration());
+            }
+        }
+    }
+
+    // --- Helpers ---
+
+    private LoginResponse issueTokens(UserDetails user, UserTokenVersion version) {
+        return new LoginResponse(
+                jwtTokenGenerator.generateToken(user, version),
+                jwtTokenGenerator.generateRefreshToken(user, version),
+                jwtTokenGenerator.getAccessTokenTtl().toSeconds());
+    }
+
+    // The claims of a valid token, or null
+    private Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return jwtTokenGenerator.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+}
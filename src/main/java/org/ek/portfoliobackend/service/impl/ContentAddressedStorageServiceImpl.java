@@ -0,0 +1,265 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.model.ImageBlob;
+import org.ek.portfoliobackend.repository.ImageBlobRepository;
+import org.ek.portfoliobackend.service.ImageDerivativeService;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ImageStorageService der gemmer hver fil én gang under SHA-256 af indholdet (fx "/uploads/9c/41/3f2a...9c.jpg").
+ * Uploades det samme billede til flere projekter, peger alle Image-rækkerne på den samme fil.
+ *
+ * Antallet af referencer står i image_blob: store tæller op, delete tæller ned og sletter først filen
+ * (og dens varianter) når der ikke er flere referencer. Aktiveres med app.storage.type=content-addressed.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "content-addressed")
+public class ContentAddressedStorageServiceImpl implements ImageStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentAddressedStorageServiceImpl.class);
+
+    private final Path uploadPath;
+    private final ImageBlobRepository imageBlobRepository;
+
+    // Own transaction per reference change: store runs outside the upload transaction (on the ingest threads),
+    // and delete is also called from afterCompletion when an upload is rolled back
+    private final TransactionTemplate transactionTemplate;
+
+    // Joins the caller's transaction (deleteInCurrentTransaction)
+    private final TransactionTemplate joiningTransactionTemplate;
+
+    public ContentAddressedStorageServiceImpl(@Value("${file.upload-dir:./uploads}") String uploadDir,
+                                              ImageBlobRepository imageBlobRepository,
+                                              PlatformTransactionManager transactionManager) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.imageBlobRepository = imageBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.joiningTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.joiningTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_MANDATORY);
+        try {
+            Files.createDirectories(this.uploadPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create upload directory: " + uploadDir, e);
+        }
+    }
+
+    /**
+     * Gemmer filen under dens SHA-256. Indholdet hashes mens det skrives til en midlertidig fil,
+     * så filen kun læses én gang; findes indholdet allerede, slettes den midlertidige fil igen.
+     *
+     * @param file filen der skal gemmes (må ikke være tom)
+     * @return den relative URL til filen (fx "/uploads/9c/41/3f2a...9c.jpg")
+     * @throws IllegalArgumentException hvis filen er tom
+     * @throws RuntimeException hvis filen ikke kan gemmes
+     */
+    @Override
+    public String store(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Cannot store empty file");
+        }
+
+        try (InputStream content = file.getInputStream()) {
+            return store(content, file.getOriginalFilename(), file.getContentType());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), e);
+        }
+    }
+
+    /**
+     * Gemmer indholdet af en stream under dets SHA-256, på samme måde som store(MultipartFile).
+     * Den midlertidige fil ligger i upload-mappen, så den flyttes på plads med en atomisk omdøbning.
+     *
+     * @param content filens indhold
+     * @param originalFilename klientens filnavn, extension bevares (med små bogstaver)
+     * @param contentType filens content type (bruges ikke)
+     * @return den relative URL til filen (fx "/uploads/9c/41/3f2a...9c.jpg")
+     * @throws IllegalArgumentException hvis indholdet er tomt
+     * @throws RuntimeException hvis filen ikke kan gemmes
+     */
+    @Override
+    public String store(InputStream content, String originalFilename, String contentType) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(uploadPath, ".upload-", ".tmp");
+
+            MessageDigest digest = sha256();
+            long size = Files.copy(new DigestInputStream(content, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+            if (size == 0) {
+                throw new IllegalArgumentException("Cannot store empty file");
+            }
+
+            String filename = HexFormat.of().formatHex(digest.digest()) + extension(originalFilename);
+            addReference(filename, temp);
+
+            return UploadLayout.url(UploadLayout.shardedPath(filename));
+
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to store file: " + originalFilename, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Fjerner én reference til filen. Filen og dens varianter slettes når den sidste reference forsvinder.
+     * Filer fra før det indholdsadresserede lager (uden række i image_blob) slettes med det samme.
+     *
+     * @param url URL'en til filen (fx "/uploads/9c/41/3f2a...9c.jpg")
+     * @throws SecurityException hvis der forsøges at slette en fil udenfor upload-mappen
+     * @throws RuntimeException hvis sletningen fejler
+     */
+    @Override
+    public void delete(String url) {
+        removeReference(url, transactionTemplate);
+    }
+
+    /**
+     * Som delete, men referencen tælles ned i kalderens transaktion (som skal være aktiv). Ruller den tilbage,
+     * står tælleren uændret, og en slettet fil genskabes ved næste upload af samme indhold.
+     *
+     * @param url URL'en til filen (fx "/uploads/9c/41/3f2a...9c.jpg")
+     * @throws SecurityException hvis der forsøges at slette en fil udenfor upload-mappen
+     * @throws RuntimeException hvis sletningen fejler
+     */
+    @Override
+    public void deleteInCurrentTransaction(String url) {
+        removeReference(url, joiningTransactionTemplate);
+    }
+
+    /**
+     * Returnerer stien til upload-mappen.
+     *
+     * @return den absolutte sti til upload-mappen
+     */
+    public Path getUploadPath() {
+        return uploadPath;
+    }
+
+    // --- Helpers ---
+
+    private void removeReference(String url, TransactionTemplate template) {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+
+        String relativePath = UploadLayout.relativePath(url);
+        if (relativePath.isBlank()) {
+            return;
+        }
+
+        Path filePath = UploadLayout.resolve(uploadPath, relativePath);
+        String filename = filePath.getFileName().toString();
+
+        template.executeWithoutResult(status -> {
+            Optional<ImageBlob> blob = imageBlobRepository.findByFilenameForUpdate(filename);
+            if (blob.isPresent() && blob.get().getRefCount() > 1) {
+                blob.get().setRefCount(blob.get().getRefCount() - 1);
+                return;
+            }
+            blob.ifPresent(imageBlobRepository::delete);
+
+            // The file is deleted while the row is still locked, so a concurrent store of the same content waits
+            deleteWithDerivatives(filePath);
+        });
+    }
+
+    // Counts the new reference and moves the file into place if it is not stored yet.
+    // Two first uploads of the same content race on the insert; the loser retries and finds the row.
+    private void addReference(String filename, Path temp) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> addReferenceLocked(filename, temp));
+        } catch (DataIntegrityViolationException e) {
+            transactionTemplate.executeWithoutResult(status -> addReferenceLocked(filename, temp));
+        }
+    }
+
+    private void addReferenceLocked(String filename, Path temp) {
+        Optional<ImageBlob> blob = imageBlobRepository.findByFilenameForUpdate(filename);
+        if (blob.isPresent()) {
+            blob.get().setRefCount(blob.get().getRefCount() + 1);
+        } else {
+            imageBlobRepository.saveAndFlush(new ImageBlob(filename, 1));
+        }
+
+        Path target = UploadLayout.resolve(uploadPath, UploadLayout.shardedPath(filename));
+        if (Files.exists(target)) {
+            log.debug("Stored duplicate upload as a new reference to {}", filename);
+            return;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Written by a concurrent upload of the same content
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteWithDerivatives(Path filePath) {
+        try {
+            Files.deleteIfExists(filePath);
+            String filename = filePath.getFileName().toString();
+            for (int width : ImageDerivativeService.WIDTHS) {
+                Files.deleteIfExists(filePath.resolveSibling(ImageDerivativeService.derivativeUrl(filename, width)));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete file: " + filePath.getFileName(), e);
+        }
+    }
+
+    // Lower-cased so "a.JPG" and "b.jpg" with the same content share one file
+    private String extension(String originalFilename) {
+        if (originalFilename == null || !originalFilename.contains(".")) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase(Locale.ROOT);
+        return extension.matches("\\.[a-z0-9]{1,10}") ? extension : "";
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload file {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.dto.response.FeaturedImageResponse;
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
+import org.ek.portfoliobackend.mapper.ProjectMapper;
+import org.ek.portfoliobackend.model.FeaturedImage;
+import org.ek.portfoliobackend.model.Image;
+import org.ek.portfoliobackend.model.Project;
+import org.ek.portfoliobackend.model.WorkType;
+import org.ek.portfoliobackend.repository.FeaturedImageRepository;
+import org.ek.portfoliobackend.service.FeaturedImageService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maintains the featured_image table (work type -> image) and keeps an in-memory copy of it.
+ *
+ * Every lookup is by primary key (the work type), so featuring an image never scans other projects.
+ * The in-memory copy is dropped when a change is committed and reloaded (one query, at most one row
+ * per work type) on the next read.
+ */
+@Service
+public class FeaturedImageServiceImpl implements FeaturedImageService {
+
+    private final FeaturedImageRepository featuredImageRepository;
+    private final ProjectMapper projectMapper;
+
+    // The in-memory copy (null when not loaded) with the generation it belongs to. Every invalidation replaces
+    // the holder with the next generation, so a load only publishes its result if no change happened while it ran
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, null));
+
+    private record Snapshot(long generation, List<FeaturedImageResponse> featuredImages) {}
+
+    public FeaturedImageServiceImpl(FeaturedImageRepository featuredImageRepository, ProjectMapper projectMapper) {
+        this.featuredImageRepository = featuredImageRepository;
+        this.projectMapper = projectMapper;
+    }
+
+    @Override
+    public List<FeaturedImageResponse> getFeaturedImages() {
+        Snapshot current = snapshot.get();
+        if (current.featuredImages() != null) {
+            return current.featuredImages();
+        }
+
+        List<FeaturedImageResponse> loaded = featuredImageRepository.findAllWithImage().stream()
+                .sorted(Comparator.comparing(FeaturedImage::getWorkType))
+                .map(featured -> new FeaturedImageResponse(
+                        featured.getWorkType(),
+                        featured.getImage().getProject().getId(),
+                        projectMapper.toImageResponse(featured.getImage())))
+                .toList();
+
+        snapshot.compareAndSet(current, new Snapshot(current.generation(), loaded));
+        return loaded;
+    }
+
+    @Override
+    public void feature(Image image) {
+        WorkType workType = image.getProject().getWorkType();
+        if (workType == null) {
+            // featured images are chosen per workType category, so there is nothing to feature it in
+            throw new IllegalArgumentException("Only images of a project with a service category can be featured");
+        }
+        FeaturedImage current = featuredImageRepository.findById(workType).orElse(null);
+
+        if (current == null) {
+            featuredImageRepository.save(new FeaturedImage(workType, image));
+        } else if (!current.getImage().getId().equals(image.getId())) {
+            // only one featured image per workType category
+            current.getImage().setIsFeatured(false);
+            current.setImage(image);
+        }
+        image.setIsFeatured(true);
+    }
+
+    @Override
+    public void unfeature(Image image) {
+        WorkType workType = image.getProject().getWorkType();
+        // an image of a project without workType is never in the featured_image table
+        if (workType != null) {
+            featuredImageRepository.findById(workType)
+                    .filter(featured -> featured.getImage().getId().equals(image.getId()))
+                    .ifPresent(featuredImageRepository::delete);
+        }
+        image.setIsFeatured(false);
+    }
+
+    @Override
+    public void workTypeChanged(Project project, WorkType previousWorkType) {
+        if (previousWorkType == null || previousWorkType == project.getWorkType()) {
+            return;
+        }
+        // The image no longer belongs to the previous work type; the admin picks a new featured image there
+        featuredImageRepository.findById(previousWorkType)
+                .filter(featured -> featured.getImage().getProject().getId().equals(project.getId()))
+                .ifPresent(featured -> {
+                    featured.getImage().setIsFeatured(false);
+                    featuredImageRepository.delete(featured);
+                });
+    }
+
+    // Drop the in-memory copy as soon as a change is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidate(PortfolioChangedEvent event) {
+        snapshot.updateAndGet(previous -> new Snapshot(previous.generation() + 1, null));
+    }
+}
@@ -0,0 +1,208 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.dto.response.PendingFileDeletionResponse;
+import org.ek.portfoliobackend.event.FilesQueuedForDeletionEvent;
+import org.ek.portfoliobackend.model.PendingFileDeletion;
+import org.ek.portfoliobackend.repository.PendingFileDeletionRepository;
+import org.ek.portfoliobackend.service.FileDeletionService;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Outbox-style file deletion: rows in pending_file_deletion are written in the caller's transaction and
+ * the files are deleted by a worker after commit.
+ *
+ * The worker runs right after a commit that queued files, and every poll interval to retry failed deletions
+ * (exponential backoff, capped). Each row is handled in its own transaction: the row is claimed with
+ * SELECT ... FOR UPDATE SKIP LOCKED, the file is deleted with ImageStorageService.deleteInCurrentTransaction
+ * (with content-addressed storage the reference count is lowered in that transaction) and the row is removed.
+ * A crash or failure before the commit rolls all of it back, and a row claimed by another instance is skipped,
+ * so a deletion is applied exactly once. Failures stay queued and visible through the admin endpoint.
+ */
+@Service
+public class FileDeletionServiceImpl implements FileDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(FileDeletionServiceImpl.class);
+
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+    private final PendingFileDeletionRepository pendingFileDeletionRepository;
+    private final ImageStorageService imageStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final boolean workerEnabled;
+
+    // Only one worker run at a time in this instance (the after-commit trigger and the poll can overlap);
+    // other instances are kept apart by the row locks
+    private final ReentrantLock workerLock = new ReentrantLock();
+
+    public FileDeletionServiceImpl(PendingFileDeletionRepository pendingFileDeletionRepository,
+                                   ImageStorageService imageStorageService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.storage.deletion.batch-size:100}") int batchSize,
+                                   @Value("${app.storage.deletion.worker-enabled:true}") boolean workerEnabled) {
+        this.pendingFileDeletionRepository = pendingFileDeletionRepository;
+        this.imageStorageService = imageStorageService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.workerEnabled = workerEnabled;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Collection<String> urls) {
+        Instant now = Instant.now();
+        List<PendingFileDeletion> deletions = new ArrayList<>();
+        for (String url : urls) {
+            if (url != null && !url.isBlank()) {
+                deletions.add(new PendingFileDeletion(url, now));
+            }
+        }
+        if (deletions.isEmpty()) {
+            return;
+        }
+
+        pendingFileDeletionRepository.saveAll(deletions);
+        eventPublisher.publishEvent(new FilesQueuedForDeletionEvent(deletions.size()));
+    }
+
+    @Override
+    public int processDueDeletions() {
+        // A run that is already going also picks up the new entries
+        if (!workerLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int deleted = 0;
+            List<PendingFileDeletion> batch;
+            BatchResult result;
+            do {
+                batch = pendingFileDeletionRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(
+                        Instant.now(), PageRequest.of(0, batchSize));
+                result = processBatch(batch);
+                deleted += result.deleted();
+                // Stop when every row was held by another worker, instead of reading the same batch again
+            } while (batch.size() == batchSize && result.handled() > 0);
+            return deleted;
+        } finally {
+            workerLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PendingFileDeletionResponse> getPendingDeletions() {
+        // Capped at one batch, so a queue that has grown large is not loaded into memory at once
+        return pendingFileDeletionRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize)).stream()
+                .map(deletion -> new PendingFileDeletionResponse(deletion.getId(), deletion.getUrl(),
+                        deletion.getCreatedAt(), deletion.getAttempts(), deletion.getNextAttemptAt(),
+                        deletion.getLastError()))
+                .toList();
+    }
+
+    @Override
+    public int retryAll() {
+        pendingFileDeletionRepository.rescheduleAll(Instant.now());
+        return processDueDeletions();
+    }
+
+    // Only after commit: a rolled back delete leaves its files (and no queue rows)
+    @Async
+    @TransactionalEventListener
+    public void onFilesQueued(FilesQueuedForDeletionEvent event) {
+        if (workerEnabled) {
+            processSafely();
+        }
+    }
+
+    // Retries failed deletions, and catches entries queued right before a restart
+    @Scheduled(fixedDelayString = "${app.storage.deletion.poll-interval-ms:60000}",
+            initialDelayString = "${app.storage.deletion.poll-interval-ms:60000}")
+    public void processPeriodically() {
+        if (workerEnabled) {
+            processSafely();
+        }
+    }
+
+    // --- Helpers ---
+
+    private void processSafely() {
+        try {
+            int deleted = processDueDeletions();
+            if (deleted > 0) {
+                log.debug("Deleted {} queued files", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("File deletion worker failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Deletes the files one by one, each in its own transaction; failures are rescheduled
+    private BatchResult processBatch(List<PendingFileDeletion> batch) {
+        int deleted = 0;
+        int failed = 0;
+
+        for (PendingFileDeletion deletion : batch) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteClaimed(deletion.getId())))) {
+                    deleted++;
+                }
+            } catch (Exception e) {
+                int attempts = deletion.getAttempts() + 1;
+                pendingFileDeletionRepository.reschedule(deletion.getId(), attempts,
+                        Instant.now().plus(retryDelay(attempts)),
+                        truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+                failed++;
+                log.warn("Could not delete {} (attempt {}): {}", deletion.getUrl(), attempts, e.getMessage());
+            }
+        }
+        return new BatchResult(deleted, deleted + failed);
+    }
+
+    // False if the row is held by another worker or was already processed
+    private boolean deleteClaimed(Long id) {
+        Optional<PendingFileDeletion> claimed = pendingFileDeletionRepository.claimById(id);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        imageStorageService.deleteInCurrentTransaction(claimed.get().getUrl());
+        pendingFileDeletionRepository.delete(claimed.get());
+        return true;
+    }
+
+    private record BatchResult(int deleted, int handled) {}
+
+    // 30s, 1m, 2m, 4m ... capped at 1h
+    private Duration retryDelay(int attempts) {
+        int doublings = Math.min(attempts - 1, 20);
+        Duration delay = FIRST_RETRY_DELAY.multipliedBy(1L << doublings);
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    private String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,290 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.config.CacheConfig;
+import org.ek.portfoliobackend.event.ImagesStoredEvent;
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.service.ImageDerivativeService;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Generates JPEG derivatives (see ImageDerivativeService.WIDTHS) of uploaded images with the JDK's ImageIO.
+ *
+ * Runs asynchronously after the upload has been committed, and once at startup for images whose derivatives
+ * are not recorded yet. Images are never upscaled: if the original is narrower than a width, that derivative is
+ * a re-encoded copy at the original width. Once all derivatives of a file exist, the width of the original is
+ * stored on its images, and only then does ProjectMapper list them as variants (with their real widths).
+ * Large originals are decoded subsampled (every n-th pixel, still at least twice the largest width), so a
+ * full-resolution image is never held on the heap.
+ * The cached project responses are dropped at that point, so the variants show up right away.
+ */
+@Service
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeServiceImpl.class);
+
+    // Originals are decoded at no less than this width; more pixels would not make the derivatives sharper
+    private static final int MAX_DECODE_WIDTH = 2 * Collections.max(WIDTHS);
+
+    // A decoded (possibly subsampled) original with the width of the file itself
+    private record DecodedImage(BufferedImage image, int originalWidth) {}
+
+    private final Path uploadPath;
+    private final ImageRepository imageRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final float quality;
+
+    public ImageDerivativeServiceImpl(@Value("${file.upload-dir:./uploads}") String uploadDir,
+                                      ImageRepository imageRepository,
+                                      CacheManager cacheManager,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${app.images.derivatives.enabled:true}") boolean enabled,
+                                      @Value("${app.images.derivatives.quality:0.8}") float quality) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.imageRepository = imageRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.quality = quality;
+    }
+
+    @Override
+    public Integer generateDerivatives(String url) {
+        if (!ImageDerivativeService.hasDerivatives(url)) {
+            return null;
+        }
+
+        Path original = UploadLayout.resolve(uploadPath, UploadLayout.relativePath(url));
+        if (!Files.exists(original)) {
+            return null;
+        }
+
+        try {
+            // E.g. a deduplicated upload of a file that already has its derivatives
+            if (allDerivativesExist(original)) {
+                return readWidth(original);
+            }
+
+            DecodedImage decoded = decode(original);
+            if (decoded == null) {
+                log.debug("No ImageIO reader for {}, skipping derivatives", url);
+                return null;
+            }
+
+            BufferedImage source = decoded.image();
+            for (int width : WIDTHS) {
+                Path target = derivativePath(original, width);
+                if (!Files.exists(target)) {
+                    writeJpeg(scaleToWidth(source, Math.min(width, source.getWidth())), target);
+                }
+            }
+            log.debug("Generated derivatives for {}", url);
+            return decoded.originalWidth();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate derivatives for: " + url, e);
+        }
+    }
+
+    // Only generate for images that were committed (a rolled back upload deletes its files)
+    @Async
+    @TransactionalEventListener
+    public void onImagesStored(ImagesStoredEvent event) {
+        if (!enabled) {
+            return;
+        }
+        generateAndRecord(event.urls());
+    }
+
+    // Backfill derivatives for images uploaded before derivatives existed (or before they were recorded)
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateMissingOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        generateAndRecord(imageRepository.findDistinctUrlsWithoutOriginalWidth());
+    }
+
+    // --- Helpers ---
+
+    private void generateAndRecord(Collection<String> urls) {
+        boolean recorded = false;
+        for (String url : urls) {
+            Integer originalWidth = generateSafely(url);
+            if (originalWidth != null && imageRepository.updateOriginalWidth(url, originalWidth) > 0) {
+                recorded = true;
+            }
+        }
+        if (recorded) {
+            // The cached responses and snapshots were built without these variants
+            clearCache(CacheConfig.PROJECTS_CACHE);
+            clearCache(CacheConfig.PROJECT_LISTS_CACHE);
+            eventPublisher.publishEvent(new PortfolioChangedEvent(null, true));
+        }
+    }
+
+    // A missing derivative is not fatal, the original is still served
+    private Integer generateSafely(String url) {
+        try {
+            return generateDerivatives(url);
+        } catch (Exception e) {
+            log.warn("Could not generate derivatives for {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    private void clearCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // Reads only the header, not the pixels
+    private Integer readWidth(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input);
+                return reader.getWidth(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Decodes every n-th pixel of images wider than MAX_DECODE_WIDTH; the readers subsample while decoding,
+    // so the full-resolution raster is never allocated. Null if there is no reader for the file
+    private DecodedImage decode(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int originalWidth = reader.getWidth(0);
+                int subsampling = Math.max(1, originalWidth / MAX_DECODE_WIDTH);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return new DecodedImage(reader.read(0, param), originalWidth);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private boolean allDerivativesExist(Path original) {
+        return WIDTHS.stream().allMatch(width -> Files.exists(derivativePath(original, width)));
+    }
+
+    // Derivatives lie next to the original (in the same shard directory)
+    private Path derivativePath(Path original, int width) {
+        return original.resolveSibling(ImageDerivativeService.derivativeUrl(original.getFileName().toString(), width));
+    }
+
+    // Downscale in steps of at most 50%, which keeps bilinear scaling sharp without a third-party library
+    private BufferedImage scaleToWidth(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round(source.getHeight() * (width / (float) source.getWidth())));
+        BufferedImage current = toRgb(source);
+
+        int currentWidth = current.getWidth();
+        int currentHeight = current.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    // JPEG has no alpha channel; transparent areas (PNG) become white
+    private BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, source.getWidth(), source.getHeight());
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    // Written to a temp file in the target directory first, so a half-written derivative is never served
+    // and the move stays within one directory
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".derivative-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
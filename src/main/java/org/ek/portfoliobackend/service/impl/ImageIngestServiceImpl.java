@@ -0,0 +1,118 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.service.ImageIngestService;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stores the image files of a request concurrently, one virtual thread per file.
+ *
+ * The number of files being written at the same time is bounded by app.upload.ingest-concurrency
+ * (shared by all requests), so a large upload can not saturate the disk or storage backend.
+ * Once a file fails, files that have not started yet are skipped, and everything already stored is deleted.
+ */
+@Service
+public class ImageIngestServiceImpl implements ImageIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageIngestServiceImpl.class);
+
+    private final ImageStorageService imageStorageService;
+    private final Semaphore permits;
+
+    public ImageIngestServiceImpl(ImageStorageService imageStorageService,
+                                  @Value("${app.upload.ingest-concurrency:4}") int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("app.upload.ingest-concurrency must be at least 1");
+        }
+        this.imageStorageService = imageStorageService;
+        this.permits = new Semaphore(concurrency);
+    }
+
+    @Override
+    public List<String> storeAll(List<MultipartFile> files) {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<String>> results = new ArrayList<>(files.size());
+
+        // close() waits until every started store has finished, so nothing is left running on failure
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                results.add(executor.submit(() -> store(file, failed)));
+            }
+        }
+
+        List<String> urls = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        for (Future<String> result : results) {
+            switch (result.state()) {
+                case SUCCESS -> urls.add(result.resultNow());
+                case FAILED -> failure = firstFailure(failure, result.exceptionNow());
+                default -> failure = firstFailure(failure, new IllegalStateException("Image ingest was interrupted"));
+            }
+        }
+
+        if (failure != null) {
+            deleteQuietly(urls);
+            throw failure;
+        }
+        return urls;
+    }
+
+    // --- Helpers ---
+
+    private String store(MultipartFile file, AtomicBoolean failed) throws InterruptedException {
+        permits.acquire();
+        try {
+            if (failed.get()) {
+                throw new SkippedException();
+            }
+            return imageStorageService.store(file);
+        } catch (RuntimeException e) {
+            failed.set(true);
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Keep the exception of the file that actually failed, not the ones skipped because of it
+    private RuntimeException firstFailure(RuntimeException current, Throwable next) {
+        if (current != null && !(current instanceof SkippedException)) {
+            return current;
+        }
+        if (next instanceof SkippedException && current != null) {
+            return current;
+        }
+        return next instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new RuntimeException(next.getMessage(), next);
+    }
+
+    private void deleteQuietly(List<String> urls) {
+        for (String url : urls) {
+            try {
+                imageStorageService.delete(url);
+            } catch (Exception e) {
+                log.warn("Could not delete stored image {} after failed ingest: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    // Marks files that were not stored because another file of the same request failed
+    private static final class SkippedException extends RuntimeException {
+        SkippedException() {
+            super("Skipped because another image could not be stored", null, false, false);
+        }
+    }
+}
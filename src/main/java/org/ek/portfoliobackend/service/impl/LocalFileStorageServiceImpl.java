@@ -1,11 +1,15 @@
 package org.ek.portfoliobackend.service.impl;
 
+import org.ek.portfoliobackend.service.ImageDerivativeService;
 import org.ek.portfoliobackend.service.ImageStorageService;
+import org.ek.portfoliobackend.service.UploadLayout;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -16,8 +20,10 @@ import java.util.UUID;
  * Implementering af ImageStorageService der gemmer filer lokalt på filsystemet.
  * Filer gemmes med UUID-baserede unikke filnavne for at undgå konflikter.
  * Upload-mappen konfigureres via file.upload-dir property i application.properties.
+ * Bruges når app.storage.type er "local" eller ikke sat (se ContentAddressedStorageServiceImpl for alternativet).
  */
 @Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
 public class LocalFileStorageServiceImpl implements ImageStorageService {
 
     /**
@@ -55,7 +61,7 @@ public class LocalFileStorageServiceImpl implements ImageStorageService {
      * Filens originale extension bevares.
      *
      * @param file filen der skal gemmes (må ikke være tom)
-     * @return den relative URL til den gemte fil (fx "/uploads/uuid.jpg")
+     * @return den relative URL til den gemte fil (fx "/uploads/9c/41/uuid.jpg")
      * @throws IllegalArgumentException hvis filen er tom
      * @throws SecurityException hvis der forsøges at gemme en fil udenfor upload-mappen
      * @throws RuntimeException hvis filen ikke kan gemmes
@@ -66,30 +72,58 @@ public class LocalFileStorageServiceImpl implements ImageStorageService {
             throw new IllegalArgumentException("Cannot store empty file");
         }
 
+        try (InputStream content = file.getInputStream()) {
+            return store(content, file.getOriginalFilename(), file.getContentType());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), e);
+        }
+    }
+
+    /**
+     * Gemmer indholdet af en stream med et unikt UUID-baseret filnavn.
+     * Der skrives til en midlertidig fil i destinationens mappe, som omdøbes (atomisk) når indholdet er skrevet,
+     * så en halvt skrevet fil aldrig kan hentes.
+     *
+     * @param content filens indhold
+     * @param originalFilename klientens filnavn, extension bevares
+     * @param contentType filens content type (bruges ikke lokalt)
+     * @return den relative URL til den gemte fil (fx "/uploads/9c/41/uuid.jpg")
+     * @throws IllegalArgumentException hvis indholdet er tomt
+     * @throws SecurityException hvis der forsøges at gemme en fil udenfor upload-mappen
+     * @throws RuntimeException hvis filen ikke kan gemmes
+     */
+    @Override
+    public String store(InputStream content, String originalFilename, String contentType) {
+        // Generér unikt filnavn for at undgå konflikter
+        String extension = originalFilename != null && originalFilename.contains(".")
+                ? originalFilename.substring(originalFilename.lastIndexOf("."))
+                : "";
+        String filename = UUID.randomUUID() + extension;
+
+        // Bestem destinationen for filen (i en shard-mappe, fx "9c/41/uuid.jpg")
+        String relativePath = UploadLayout.shardedPath(filename);
+
+        // Sikkerhedstjek: Sørg for at filen gemmes indenfor upload-mappen
+        Path destinationFile = UploadLayout.resolve(this.uploadPath, relativePath);
+
+        Path temp = null;
         try {
-            // Generér unikt filnavn for at undgå konflikter
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : "";
-            String filename = UUID.randomUUID() + extension;
-
-            // Bestem destinationen for filen
-            Path destinationFile = this.uploadPath.resolve(filename).normalize();
-
-            // Sikkerhedstjek: Sørg for at filen gemmes indenfor upload-mappen
-            if (!destinationFile.getParent().equals(this.uploadPath)) {
-                throw new SecurityException("Cannot store file outside upload directory");
-            }
+            Files.createDirectories(destinationFile.getParent());
 
-            // Kopiér fil til destination
-            Files.copy(file.getInputStream(), destinationFile, StandardCopyOption.REPLACE_EXISTING);
+            // Skriv til en midlertidig fil i samme mappe og omdøb den, når indholdet er skrevet
+            temp = Files.createTempFile(destinationFile.getParent(), ".upload-", ".tmp");
+            if (Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING) == 0) {
+                throw new IllegalArgumentException("Cannot store empty file");
+            }
+            Files.move(temp, destinationFile, StandardCopyOption.ATOMIC_MOVE);
 
             // Returnér den relative URL/sti (uden baseUrl, så den virker med reverse proxy)
-            return "/uploads/" + filename;
+            return UploadLayout.url(relativePath);
 
         } catch (IOException e) {
-            throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), e);
+            throw new RuntimeException("Failed to store file: " + originalFilename, e);
+        } finally {
+            deleteQuietly(temp);
         }
     }
 
@@ -108,26 +142,24 @@ public class LocalFileStorageServiceImpl implements ImageStorageService {
             return;
         }
 
-        // Udtræk filnavn fra URL'en
-        int lastSlash = url.lastIndexOf('/');
-        String filename = (lastSlash >= 0) ? url.substring(lastSlash + 1) : url;
+        // Udtræk stien i upload-mappen fra URL'en (fx "9c/41/uuid.jpg", eller "uuid.jpg" for gamle filer)
+        String relativePath = UploadLayout.relativePath(url);
 
-        // Hvis filnavn er tomt → gør ingenting
-        if (filename == null || filename.isBlank()) {
+        // Hvis stien er tom → gør ingenting
+        if (relativePath.isBlank()) {
             return;
         }
 
-        // Byg den fulde sti inde i upload-mappen
-        Path filePath = uploadPath.resolve(filename).normalize();
-
-        // Sikkerhedstjek: Må ikke slette udenfor uploadPath
-        if (!filePath.startsWith(uploadPath)) {
-            throw new SecurityException("Cannot delete file outside upload directory");
-        }
+        // Sikkerhedstjek: Må ikke slette udenfor uploadPath (kaster SecurityException)
+        Path filePath = UploadLayout.resolve(uploadPath, relativePath);
 
         try {
-            // Slet filen hvis den findes
+            // Slet filen hvis den findes, sammen med dens nedskalerede varianter
             Files.deleteIfExists(filePath);
+            for (int width : ImageDerivativeService.WIDTHS) {
+                Files.deleteIfExists(filePath.resolveSibling(
+                        ImageDerivativeService.derivativeUrl(filePath.getFileName().toString(), width)));
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete file: " + url, e);
         }
@@ -142,4 +174,16 @@ public class LocalFileStorageServiceImpl implements ImageStorageService {
     public Path getUploadPath() {
         return uploadPath;
     }
+
+    // Fjerner den midlertidige fil hvis den ikke blev omdøbt (fx ved en afbrudt upload)
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Ryddes op af UploadGarbageCollectionService
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
+import org.ek.portfoliobackend.mapper.ProjectMapper;
+import org.ek.portfoliobackend.model.CustomerType;
+import org.ek.portfoliobackend.model.WorkType;
+import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.ek.portfoliobackend.service.PortfolioSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the encoded JSON (plain and gzip) of GET /api/projects for every combination of
+ * WorkType x CustomerType x sort direction, including "no filter".
+ *
+ * Snapshots are dropped synchronously when a change is committed and rebuilt asynchronously afterwards.
+ * Until the rebuild is done getSnapshot returns empty, so callers fall back to the regular listing
+ * and never serve stale data.
+ */
+@Service
+public class PortfolioSnapshotServiceImpl implements PortfolioSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioSnapshotServiceImpl.class);
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMapper projectMapper;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+
+    // The snapshots with the generation they belong to. Every invalidation replaces the holder with the next
+    // generation (and no snapshots), so a rebuild only publishes its result if no change happened while it ran
+    private final AtomicReference<Snapshots> state = new AtomicReference<>(new Snapshots(0, Map.of()));
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private record Snapshots(long generation, Map<SnapshotKey, PortfolioSnapshot> byKey) {}
+
+    public PortfolioSnapshotServiceImpl(ProjectRepository projectRepository,
+                                        ProjectMapper projectMapper,
+                                        JsonMapper jsonMapper,
+                                        @Value("${app.portfolio.snapshot.enabled:true}") boolean enabled) {
+        this.projectRepository = projectRepository;
+        this.projectMapper = projectMapper;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Optional<PortfolioSnapshot> getSnapshot(WorkType workType, CustomerType customerType, String sortDirection) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(state.get().byKey().get(new SnapshotKey(workType, customerType, isAscending(sortDirection))));
+    }
+
+    @Override
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            Snapshots start = state.get();
+
+            // One query for the whole portfolio (images are fetch-joined), the combinations are filtered in memory
+            List<ProjectResponse> projects = projectRepository.findAll(
+                            Sort.by(Sort.Direction.DESC, "executionDate").and(Sort.by(Sort.Direction.DESC, "id")))
+                    .stream()
+                    .map(projectMapper::toResponse)
+                    .toList();
+
+            Map<SnapshotKey, PortfolioSnapshot> rebuilt = new HashMap<>();
+            for (SnapshotKey key : allKeys()) {
+                rebuilt.put(key, encode(filter(projects, key)));
+            }
+
+            if (state.compareAndSet(start, new Snapshots(start.generation(), Map.copyOf(rebuilt)))) {
+                log.debug("Rebuilt {} portfolio snapshots from {} projects", rebuilt.size(), projects.size());
+            } else {
+                log.debug("Discarded portfolio snapshot rebuild, the portfolio changed while it ran");
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Drop the snapshots as soon as a change is committed (runs before the async rebuild below)
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidate(PortfolioChangedEvent event) {
+        state.updateAndGet(previous -> new Snapshots(previous.generation() + 1, Map.of()));
+    }
+
+    @Async
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void rebuildAfterChange(PortfolioChangedEvent event) {
+        rebuildSafely();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildSafely();
+    }
+
+    // --- Helpers ---
+
+    // Failures only mean the listing falls back to the regular (non-snapshot) path
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Could not rebuild portfolio snapshots: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<SnapshotKey> allKeys() {
+        List<WorkType> workTypes = new ArrayList<>(Arrays.asList(WorkType.values()));
+        workTypes.add(null);
+        List<CustomerType> customerTypes = new ArrayList<>(Arrays.asList(CustomerType.values()));
+        customerTypes.add(null);
+
+        List<SnapshotKey> keys = new ArrayList<>();
+        for (WorkType workType : workTypes) {
+            for (CustomerType customerType : customerTypes) {
+                keys.add(new SnapshotKey(workType, customerType, true));
+                keys.add(new SnapshotKey(workType, customerType, false));
+            }
+        }
+        return keys;
+    }
+
+    // Same filtering and ordering as ProjectService.getProjectsByFilters
+    private List<ProjectResponse> filter(List<ProjectResponse> newestFirst, SnapshotKey key) {
+        List<ProjectResponse> filtered = new ArrayList<>();
+        for (ProjectResponse project : newestFirst) {
+            if ((key.workType() == null || key.workType() == project.getWorkType())
+                    && (key.customerType() == null || key.customerType() == project.getCustomerType())) {
+                filtered.add(project);
+            }
+        }
+        if (key.ascending()) {
+            // Null dates first like the database's ascending order, id as tie-breaker like ProjectService
+            filtered.sort(Comparator.comparing(ProjectResponse::getExecutionDate,
+                            Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+                    .thenComparing(ProjectResponse::getId));
+        }
+        return filtered;
+    }
+
+    private PortfolioSnapshot encode(List<ProjectResponse> projects) {
+        byte[] json = jsonMapper.writeValueAsBytes(projects);
+        byte[] gzip = gzip(json);
+        return new PortfolioSnapshot(json, gzip, etag(json), etag(gzip));
+    }
+
+    private byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress portfolio snapshot", e);
+        }
+        return out.toByteArray();
+    }
+
+    // Strong ETag: a hash of the exact bytes that are sent
+    private String etag(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private boolean isAscending(String sortDirection) {
+        return sortDirection != null && sortDirection.equalsIgnoreCase("asc");
+    }
+
+    private record SnapshotKey(WorkType workType, CustomerType customerType, boolean ascending) {
+    }
+}
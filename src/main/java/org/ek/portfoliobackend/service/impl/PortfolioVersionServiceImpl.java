@@ -0,0 +1,78 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
+import org.ek.portfoliobackend.service.PortfolioVersionService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps in-memory version stamps of the portfolio and of each project.
+ *
+ * Versions are bumped when a PortfolioChangedEvent is committed. A random boot id is part of every ETag
+ * and Last-Modified starts at the startup time, so validators from before a restart never match.
+ * Projects that have not changed since startup (or since the last change affecting several projects)
+ * share the baseline stamp, so only changed projects are kept in the map.
+ */
+@Service
+public class PortfolioVersionServiceImpl implements PortfolioVersionService {
+
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong counter = new AtomicLong();
+    private final Map<Long, VersionStamp> projectVersions = new ConcurrentHashMap<>();
+
+    private volatile VersionStamp portfolioVersion;
+    private volatile VersionStamp baselineVersion;
+
+    public PortfolioVersionServiceImpl() {
+        VersionStamp initial = stamp("v", counter.get(), System.currentTimeMillis());
+        this.portfolioVersion = initial;
+        this.baselineVersion = initial;
+    }
+
+    @Override
+    public VersionStamp getPortfolioVersion() {
+        return portfolioVersion;
+    }
+
+    @Override
+    public VersionStamp getProjectVersion(Long projectId) {
+        VersionStamp version = projectVersions.get(projectId);
+        return version != null ? version : stamp("p" + projectId + "-", baselineVersion);
+    }
+
+    // Bump the versions as soon as a change is committed, before any cached data is rebuilt
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPortfolioChanged(PortfolioChangedEvent event) {
+        long version = counter.incrementAndGet();
+        // Never go back in time (Last-Modified has second precision, so keep it strictly increasing)
+        long lastModified = Math.max(System.currentTimeMillis(), portfolioVersion.lastModified() + 1000);
+
+        portfolioVersion = stamp("v", version, lastModified);
+
+        if (event.affectsOtherProjects()) {
+            // Other projects' images changed too, so every project gets a new version
+            baselineVersion = portfolioVersion;
+            projectVersions.clear();
+        }
+        if (event.projectId() != null) {
+            projectVersions.put(event.projectId(), stamp("p" + event.projectId() + "-", portfolioVersion));
+        }
+    }
+
+    // --- Helpers ---
+
+    private VersionStamp stamp(String prefix, VersionStamp source) {
+        return new VersionStamp("\"" + prefix + source.etag().replace("\"", "") + "\"", source.lastModified());
+    }
+
+    private VersionStamp stamp(String prefix, long version, long lastModified) {
+        return new VersionStamp("\"" + prefix + bootId + "-" + version + "\"", lastModified);
+    }
+}
@@ -1,11 +1,15 @@
 package org.ek.portfoliobackend.service.impl;
 
+import org.ek.portfoliobackend.config.CacheConfig;
 import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
 import org.ek.portfoliobackend.dto.request.ImageUploadRequest;
 import org.ek.portfoliobackend.dto.request.UpdateImageRequest;
 import org.ek.portfoliobackend.dto.request.UpdateProjectRequest;
 import org.ek.portfoliobackend.dto.response.ImageResponse;
+import org.ek.portfoliobackend.dto.response.ProjectPageResponse;
 import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.ek.portfoliobackend.event.ImagesStoredEvent;
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
 import org.ek.portfoliobackend.mapper.ProjectMapper;
 import org.ek.portfoliobackend.model.CustomerType;
 import org.ek.portfoliobackend.model.Image;
@@ -14,40 +18,82 @@ import org.ek.portfoliobackend.model.Project;
 import org.ek.portfoliobackend.model.WorkType;
 import org.ek.portfoliobackend.repository.ImageRepository;
 import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.ek.portfoliobackend.service.FeaturedImageService;
+import org.ek.portfoliobackend.service.FileDeletionService;
+import org.ek.portfoliobackend.service.ImageIngestService;
 import org.ek.portfoliobackend.service.ImageStorageService;
 import org.ek.portfoliobackend.service.ProjectService;
+import org.ek.portfoliobackend.service.UploadSessionService;
 import org.hibernate.annotations.NotFound;
 import org.springframework.boot.context.config.ConfigDataResourceNotFoundException;
 import org.ek.portfoliobackend.exception.custom.ResourceNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 
 @Service
 public class ProjectServiceImpl implements ProjectService {
 
+    // Largest page a client may request from the paged listing
+    static final int MAX_PAGE_SIZE = 50;
+
+    // Date part of the cursor of a project without executionDate
+    private static final String UNDATED = "none";
+
     private final ProjectRepository projectRepository;
     private final ImageRepository imageRepository;
     private final ImageStorageService imageStorageService;
+    private final ImageIngestService imageIngestService;
     private final ProjectMapper projectMapper;
+    private final FeaturedImageService featuredImageService;
+    private final FileDeletionService fileDeletionService;
+    private final UploadSessionService uploadSessionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProjectServiceImpl(ProjectRepository projectRepository,
                               ImageRepository imageRepository,
                               ImageStorageService imageStorageService,
-                              ProjectMapper projectMapper) {
+                              ImageIngestService imageIngestService,
+                              ProjectMapper projectMapper,
+                              FeaturedImageService featuredImageService,
+                              FileDeletionService fileDeletionService,
+                              UploadSessionService uploadSessionService,
+                              ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.imageRepository = imageRepository;
         this.imageStorageService = imageStorageService;
+        this.imageIngestService = imageIngestService;
         this.projectMapper = projectMapper;
+        this.featuredImageService = featuredImageService;
+        this.fileDeletionService = fileDeletionService;
+        this.uploadSessionService = uploadSessionService;
+        this.eventPublisher = eventPublisher;
     }
 
+    // A new project changes every list; cached single projects only change if the new featured image unfeatures theirs
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true,
+                    condition = "#imageMetadata != null && #imageMetadata.?[featured].size() > 0")
+    })
     public ProjectResponse createProject(CreateProjectRequest request,
                                          List<MultipartFile> images,
                                          List<ImageUploadRequest> imageMetadata) {
@@ -65,89 +111,75 @@ public class ProjectServiceImpl implements ProjectService {
         project = projectRepository.save(project);
 
         // Process and store images
-        List<Image> savedImages = new ArrayList<>();
         try {
-            for (int i = 0; i < images.size(); i++) {
-                MultipartFile imageFile = images.get(i);
-                ImageUploadRequest metadata = imageMetadata.get(i);
-
-                //if image is featured, unfeature other images in same workType category
-                if (metadata.isFeatured()) {
-                    unfeatureImageByWorkType(project.getWorkType());
-                }
-
-                // Store the image file and get the URL
-                String imageUrl = imageStorageService.store(imageFile);
-
-                // Create image entity
-                Image image = projectMapper.toImage(
-                        imageUrl,
-                        metadata.getImageType(),
-                        metadata.isFeatured(),
-                        project
-                );
-
-                // Save image entity
-                Image savedImage = imageRepository.save(image);
-                savedImages.add(savedImage);
-            }
+            // Store all image files concurrently, the URLs come back in the order of the files
+            List<String> imageUrls = imageIngestService.storeAll(images);
+            deleteStoredImagesOnRollback(imageUrls);
 
-            // Add images to project
-            project.setImages(savedImages);
-
-            // Convert to response DTO
-            return projectMapper.toResponse(project);
+            return addStoredImages(project, imageUrls, imageMetadata);
 
         } catch (Exception e) {
-            // If any image storage fails, clean up already stored images
-            for (Image savedImage : savedImages) {
-                try {
-                    imageStorageService.delete(savedImage.getUrl());
-                } catch (Exception cleanupException) {
-                    // Log cleanup failure but don't throw
-                }
-            }
+            // The rollback removes the stored images (a failed ingest cleans up itself); deleting them here as well
+            // would release a content-addressed blob twice
             throw new RuntimeException("Failed to store images: " + e.getMessage(), e);
         }
     }
 
+    // Create project from images the streaming upload has already written to storage
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true,
+                    condition = "#imageMetadata != null && #imageMetadata.?[featured].size() > 0")
+    })
+    public ProjectResponse createProjectWithStoredImages(CreateProjectRequest request,
+                                                         List<String> imageUrls,
+                                                         List<ImageUploadRequest> imageMetadata) {
+
+        // Registered first, so the files are also removed when validation fails (any exception rolls back)
+        deleteStoredImagesOnRollback(imageUrls);
+
+        if (request == null) {
+            throw new IllegalArgumentException("Project data must be provided");
+        }
+        validateStoredInputs(imageUrls, imageMetadata);
+        validateImageTypes(imageMetadata);
+
+        Project project = projectRepository.save(projectMapper.toProjectEntity(request));
+        return addStoredImages(project, imageUrls, imageMetadata);
+    }
+
     // Update project
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#id")
+    })
     public ProjectResponse updateProject(Long id, UpdateProjectRequest request) {
 
         Project project = findProjectById(id);
+        WorkType previousWorkType = project.getWorkType();
 
         // Update project fields with mapper
         projectMapper.updateProjectEntity(request, project);
 
+        // A featured image can not follow the project into another workType category
+        featuredImageService.workTypeChanged(project, previousWorkType);
+
         // Save updated project
         Project updatedProject = projectRepository.save(project);
 
+        publishPortfolioChanged(id, false);
+
         // return response DTO
         return projectMapper.toResponse(updatedProject);
     }
 
-//    // Update image
-//    @Override
-//    @Transactional
-//    public ImageResponse updateImage(Long imageId, UpdateImageRequest request) {
-//
-//        Image image = findImageById(imageId);
-//
-//        deleteImageUrl(image, request);
-//
-//        // Updates the image metadata
-//        projectMapper.updateImageEntity(request, image);
-//
-//        // Saves new image
-//        imageRepository.save(image);
-//
-//        return projectMapper.toImageResponse(image);
-//
-//    }
-
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#id")
     public ProjectResponse getProjectById(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", id));
@@ -168,6 +200,12 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#projectId"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true,
+                    condition = "#imageMetadata != null && #imageMetadata.?[featured].size() > 0")
+    })
     public ProjectResponse addImagesToProject(Long projectId,
                                               List<MultipartFile> images,
                                               List<ImageUploadRequest> imageMetadata) {
@@ -178,53 +216,76 @@ public class ProjectServiceImpl implements ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
 
         // store and create new image entities
-        List<Image> newImages = new ArrayList<>();
         try {
-            for (int i = 0; i < images.size(); i++) {
-                MultipartFile imageFile = images.get(i);
-                ImageUploadRequest metadata = imageMetadata.get(i);
+            // Store all image files concurrently, the URLs come back in the order of the files
+            List<String> imageUrls = imageIngestService.storeAll(images);
+            deleteStoredImagesOnRollback(imageUrls);
 
-                //if image is featured, unfeature other images in same workType category
-                if (metadata.isFeatured()) {
-                    unfeatureImageByWorkType(project.getWorkType());
-                }
-
-                // Store the image file and get the URL
-                String imageUrl = imageStorageService.store(imageFile);
-
-                // Create image entity
-                Image image = projectMapper.toImage(
-                        imageUrl,
-                        metadata.getImageType(),
-                        metadata.isFeatured(),
-                        project
-                );
-
-                // Save image entity
-                Image savedImage = imageRepository.save(image);
-                newImages.add(savedImage);
-            }
+            // Create and save the new image entities (one batched insert)
+            List<Image> newImages = saveImages(project, imageUrls, imageMetadata);
 
             // Add new images to project
             project.getImages().addAll(newImages);
 
+            // Derivatives (thumbnails) are generated in the background once the upload is committed
+            eventPublisher.publishEvent(new ImagesStoredEvent(imageUrls));
+
+            publishPortfolioChanged(projectId, hasFeaturedImage(imageMetadata));
+
             // convert to response DTO
             return projectMapper.toResponse(project);
         } catch (Exception e) {
-            // Cleanup stored images on failure
-            for (Image savedImage : newImages) {
-                try {
-                    imageStorageService.delete(savedImage.getUrl());
-                } catch (Exception cleanupException) {
-                    // Log cleanup failure but don't throw
-                }
-            }
+            // Stored images are removed by the rollback only (a failed ingest cleans up itself)
             throw new RuntimeException("Failed to store images: " + e.getMessage(), e);
         }
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#projectId"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true,
+                    condition = "#imageMetadata != null && #imageMetadata.?[featured].size() > 0")
+    })
+    public ProjectResponse addImagesFromUploadSessions(Long projectId, List<ImageUploadRequest> imageMetadata) {
+        if (imageMetadata == null || imageMetadata.isEmpty()) {
+            throw new IllegalArgumentException("Image metadata must be provided");
+        }
+        for (ImageUploadRequest metadata : imageMetadata) {
+            if (metadata.getUploadSessionId() == null || metadata.getUploadSessionId().isBlank()) {
+                throw new IllegalArgumentException("Every image must have an uploadSessionId");
+            }
+        }
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
+
+        // The sessions are only removed on commit, so after a rollback the client can simply try again
+        List<String> imageUrls = new ArrayList<>(imageMetadata.size());
+        deleteStoredImagesOnRollback(imageUrls);
+        for (ImageUploadRequest metadata : imageMetadata) {
+            imageUrls.add(uploadSessionService.completeSession(metadata.getUploadSessionId()));
+        }
+
+        // Create and save the new image entities (one batched insert)
+        project.getImages().addAll(saveImages(project, imageUrls, imageMetadata));
+
+        // Derivatives (thumbnails) are generated in the background once the upload is committed
+        eventPublisher.publishEvent(new ImagesStoredEvent(imageUrls));
+
+        publishPortfolioChanged(projectId, hasFeaturedImage(imageMetadata));
+
+        return projectMapper.toResponse(project);
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#projectId"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true,
+                    condition = "#request.getIsFeatured() == true")
+    })
     public ProjectResponse updateImageMetadata(Long projectId, Long imageId, UpdateImageRequest request) {
         // Verify project exists
         Project project = projectRepository.findById(projectId)
@@ -242,21 +303,28 @@ public class ProjectServiceImpl implements ProjectService {
         // Update image metadata using mapper
         projectMapper.updateImageEntity(request, image);
 
-        // If setting this image as featured, unfeature others in same workType category
+        // If setting this image as featured, it replaces the featured image of the workType category
         if (image.getIsFeatured()) {
-            unfeatureImageByWorkType(project.getWorkType());
-            image.setIsFeatured(true); // Re-set this one to featured after unfeaturing others
+            featuredImageService.feature(image);
+        } else {
+            featuredImageService.unfeature(image);
         }
 
         // Save updated image
         imageRepository.save(image);
 
+        publishPortfolioChanged(projectId, image.getIsFeatured());
+
         // Return updated project
         return projectMapper.toResponse(project);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#projectId")
+    })
     public ProjectResponse deleteImageFromProject(Long projectId, Long imageId) {
         // Verify project exists
         Project project = projectRepository.findById(projectId)
@@ -273,32 +341,39 @@ public class ProjectServiceImpl implements ProjectService {
 
         validateImageDeletion(project, image);
 
-        // delete physical file from storage
-        try {
-            imageStorageService.delete(image.getUrl());
-        } catch (Exception e) {
+        // queue the physical file for deletion, it is removed in the background once the delete is committed
+        fileDeletionService.enqueue(Collections.singletonList(image.getUrl()));
 
+        if (image.getIsFeatured()) {
+            featuredImageService.unfeature(image);
         }
 
         // remove image from project and delete from db
         project.getImages().remove(image);
         imageRepository.delete(image);
 
+        publishPortfolioChanged(projectId, false);
+
         return projectMapper.toResponse(project);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_LISTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#id")
+    })
     public void deleteProject(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", id));
 
-        // Delete image files from storage
+        // Queue the image files for deletion, they are removed in the background once the delete is committed
+        fileDeletionService.enqueue(project.getImages().stream().map(Image::getUrl).toList());
+
+        // Release the featured image of the workType category, if it belongs to this project
         for (Image image : project.getImages()) {
-            try {
-                imageStorageService.delete(image.getUrl());
-            } catch (Exception e) {
-                // Log but don't fail
+            if (image.getIsFeatured()) {
+                featuredImageService.unfeature(image);
             }
         }
 
@@ -307,6 +382,8 @@ public class ProjectServiceImpl implements ProjectService {
 
         // Delete project
         projectRepository.delete(project);
+
+        publishPortfolioChanged(id, false);
     }
 
     // TODO: Er dette noget vi skal bruge til noget, ellers skal den vel slettes? :) Kan ikke se noget task på den.
@@ -351,6 +428,23 @@ public class ProjectServiceImpl implements ProjectService {
         }
     }
 
+    /**
+     * Validate that stored image URLs and metadata lists are not empty and have matching sizes
+     */
+    private void validateStoredInputs(List<String> imageUrls, List<ImageUploadRequest> imageMetadata) {
+        if (imageUrls == null || imageUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one image must be provided");
+        }
+
+        if (imageMetadata == null || imageMetadata.isEmpty()) {
+            throw new IllegalArgumentException("Image metadata must be provided");
+        }
+
+        if (imageUrls.size() != imageMetadata.size()) {
+            throw new IllegalArgumentException("Number of images must match number of metadata entries");
+        }
+    }
+
     /**
      * Validate that at least one BEFORE and one AFTER image is included
      */
@@ -388,57 +482,102 @@ public class ProjectServiceImpl implements ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", id));
     }
 
-    // --- Helper for update image ---
+    // --- Helper for sort by date ---
+    // id breaks ties between projects on the same date, so the order is stable (and matches the portfolio snapshots)
+    private Sort sortByDate(String sortDirection) {
+        Sort.Direction direction = sortDirection != null && sortDirection.equalsIgnoreCase("asc")
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        return Sort.by(direction, "executionDate").and(Sort.by(direction, "id"));
+    }
 
-    private Image findImageById(Long imageId) {
+    // deletes stored image files, used to roll back an upload that failed after the files were stored
+    private void deleteStoredImages(List<String> imageUrls) {
+        for (String imageUrl : imageUrls) {
+            try {
+                imageStorageService.delete(imageUrl);
+            } catch (Exception cleanupException) {
+                // Log cleanup failure but don't throw
+            }
+        }
+    }
 
-        return imageRepository.findById(imageId)
-                .orElseThrow(() -> new ResourceNotFoundException("Image", imageId));
+    // the image inserts are batched and only sent at flush/commit, so a failing commit must also remove the files
+    private void deleteStoredImagesOnRollback(List<String> imageUrls) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteStoredImages(imageUrls);
+                }
+            }
+        });
     }
 
-    // --- Helper for delete image ---
+    // saves the images of a new project and announces them (derivatives, snapshots, versions run after commit)
+    private ProjectResponse addStoredImages(Project project, List<String> imageUrls,
+                                            List<ImageUploadRequest> imageMetadata) {
+        // Create and save the image entities (one batched insert)
+        List<Image> savedImages = saveImages(project, imageUrls, imageMetadata);
 
-    private void deleteImageUrl(Image image, UpdateImageRequest request) {
+        // Add images to project
+        project.setImages(savedImages);
 
-        // If URL changes, delete the old one
-        if (request.getUrl() != null && !request.getUrl().equals(image.getUrl())) {
-            imageStorageService.delete(image.getUrl());
-        }
+        // Derivatives (thumbnails) are generated in the background once the upload is committed
+        eventPublisher.publishEvent(new ImagesStoredEvent(imageUrls));
 
+        publishPortfolioChanged(project.getId(), hasFeaturedImage(imageMetadata));
+
+        // Convert to response DTO
+        return projectMapper.toResponse(project);
     }
-    // --- Helper for delete project ---
 
-    private void deleteAllImages(Project project) {
+    // creates the image entities in request order and saves them with one saveAll, so Hibernate batches the inserts
+    // only one featured image per workType category, so if several new images are featured the last one wins
+    private List<Image> saveImages(Project project, List<String> imageUrls, List<ImageUploadRequest> imageMetadata) {
+        int featuredIndex = lastFeaturedIndex(imageMetadata);
+
+        List<Image> images = new ArrayList<>(imageUrls.size());
+        for (int i = 0; i < imageUrls.size(); i++) {
+            images.add(projectMapper.toImage(
+                    imageUrls.get(i),
+                    imageMetadata.get(i).getImageType(),
+                    i == featuredIndex,
+                    project
+            ));
+        }
+        List<Image> savedImages = imageRepository.saveAll(images);
 
-        for (Image image : project.getImages()) {
-            if (image.getUrl() != null) {
-                imageStorageService.delete(image.getUrl());
-            }
+        // the featured image replaces the featured image of the workType category
+        if (featuredIndex >= 0) {
+            featuredImageService.feature(savedImages.get(featuredIndex));
         }
+        return savedImages;
     }
 
-    // --- Helper for sort by date ---
-    private Sort sortByDate(String sortDirection) {
-        if (sortDirection != null && sortDirection.equalsIgnoreCase("asc")) {
-            return Sort.by(Sort.Direction.ASC, "executionDate");
-        }
-        return Sort.by(Sort.Direction.DESC, "executionDate");
-    }
-
-    // unfeatures all images from projects with given workType
-    // only one featured image per workType category
-    private void unfeatureImageByWorkType(WorkType workType) {
-        // find all projects with the given workType
-        List<Project> projects = projectRepository.findByWorkType(workType, Sort.unsorted());
-        // unfeature all images in these projects
-        for (Project project : projects) {
-            for (Image image : project.getImages()) {
-                if (image.getIsFeatured()) {
-                    image.setIsFeatured(false);
-                    imageRepository.save(image);
-                }
+    // index of the last featured image in the metadata, or -1 if none is featured
+    private int lastFeaturedIndex(List<ImageUploadRequest> imageMetadata) {
+        int featuredIndex = -1;
+        for (int i = 0; i < imageMetadata.size(); i++) {
+            if (imageMetadata.get(i).isFeatured()) {
+                featuredIndex = i;
             }
         }
+        return featuredIndex;
+    }
+
+    // --- Helpers for change notification ---
+
+    // Listeners (snapshots, versions) react after the surrounding transaction has committed
+    private void publishPortfolioChanged(Long projectId, boolean affectsOtherProjects) {
+        eventPublisher.publishEvent(new PortfolioChangedEvent(projectId, affectsOtherProjects));
+    }
+
+    private boolean hasFeaturedImage(List<ImageUploadRequest> imageMetadata) {
+        return imageMetadata.stream().anyMatch(ImageUploadRequest::isFeatured);
     }
 
     // --- Helper for mapping of project list ---
@@ -492,7 +631,12 @@ public class ProjectServiceImpl implements ProjectService {
                 .toList();
     }
 
+    // Read-only transaction keeps the mapping of images inside the session that fetched them.
+    // Cached per filter combination; any sort value other than "asc" means descending, so it shares one entry
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PROJECT_LISTS_CACHE,
+            key = "{#workType, #customerType, #sortDirection != null && #sortDirection.equalsIgnoreCase('asc')}")
     public List<ProjectResponse> getProjectsByFilters(WorkType workType, CustomerType customerType, String sortDirection) {
         List<Project> projects;
 
@@ -518,5 +662,74 @@ public class ProjectServiceImpl implements ProjectService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectPageResponse getProjectPage(WorkType workType, CustomerType customerType, String sortDirection,
+                                              int page, int size, String cursor) {
+        validatePageRequest(page, size);
+
+        boolean ascending = sortDirection != null && sortDirection.equalsIgnoreCase("asc");
+        Slice<Long> ids;
+
+        if (cursor != null && !cursor.isBlank()) {
+            // Keyset: continue strictly after the last project of the previous page, no OFFSET scan
+            ProjectCursor position = decodeCursor(cursor);
+            ids = projectRepository.findPageIdsAfter(workType, customerType, ascending,
+                    position.executionDate(), position.id(), size);
+        } else {
+            ids = projectRepository.findPageIds(workType, customerType, ascending, page, size);
+        }
+
+        List<Project> projects = ids.isEmpty()
+                ? List.of()
+                : projectRepository.findByIdIn(ids.getContent(), pageSort(ascending));
 
-}
\ No newline at end of file
+        String nextCursor = null;
+        if (ids.hasNext() && !projects.isEmpty()) {
+            nextCursor = encodeCursor(projects.get(projects.size() - 1));
+        }
+
+        return new ProjectPageResponse(mapProjectsToResponse(projects), size, ids.hasNext(), nextCursor);
+    }
+
+    // --- Helpers for pagination ---
+
+    // Position of the last project on a page. The cursor is opaque to clients (base64 of "executionDate:id",
+    // with UNDATED in place of the date for a project without executionDate)
+    private record ProjectCursor(LocalDate executionDate, Long id) {}
+
+    private void validatePageRequest(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Sort on executionDate with id as tie-breaker, so every project has a unique position for the cursor.
+    // Projects without executionDate come first ascending and last descending (database order of NULL)
+    private Sort pageSort(boolean ascending) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, "executionDate").and(Sort.by(direction, "id"));
+    }
+
+    private String encodeCursor(Project project) {
+        String date = project.getExecutionDate() == null ? UNDATED : project.getExecutionDate().toString();
+        String position = date + ":" + project.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ProjectCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(':');
+            String date = position.substring(0, separator);
+            return new ProjectCursor(
+                    date.equals(UNDATED) ? null : LocalDate.parse(date),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ImageStorageService der gemmer filer i en S3-kompatibel bucket (AWS S3, MinIO osv.), så flere backend-instanser
+ * kan køre uden et delt upload-volumen. Aktiveres med app.storage.type=s3 (se S3StorageConfig for klienten).
+ *
+ * Begrænsning: kun billedfilerne deles mellem instanser. Response-cachen, snapshots, portfolio-version/ETags, kopien
+ * af featured billeder og token-version/deny-listen i hukommelsen invalideres kun på den instans der lavede
+ * ændringen, så en anden instans kan svare med en forældet liste (og 304) indtil den genstartes. Upload sessions,
+ * UploadController og oprydningen af forældreløse filer arbejder kun på den lokale upload-mappe. Kør derfor kun én
+ * instans, indtil invalideringen deles (fx via en fælles besked-kanal).
+ *
+ * Filer mindre end part-size sendes med én PutObject. Større filer streames med multipart upload: filen læses i parts
+ * som uploades parallelt, højst upload-parallelism ad gangen, så der aldrig ligger mere end
+ * upload-parallelism * part-size i hukommelsen pr. fil, og intet spooles til disk. Fejler en part, afbrydes
+ * uploaden (AbortMultipartUpload), så S3 ikke gemmer halve parts.
+ *
+ * Nøgler shardes som i upload-mappen (fx "images/9c/41/uuid.jpg"), og URL'en er public-url + "/" + nøglen.
+ * Nedskalerede varianter genereres kun for filer i den lokale upload-mappe, så der vises kun originalen.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3StorageServiceImpl implements ImageStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(S3StorageServiceImpl.class);
+
+    // S3 requires at least 5 MiB for every part but the last
+    private static final long MIN_PART_SIZE = DataSize.ofMebibytes(5).toBytes();
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String keyPrefix;
+    private final String publicUrl;
+    private final int partSize;
+    private final int uploadParallelism;
+
+    public S3StorageServiceImpl(S3Client s3Client,
+                                @Value("${app.storage.s3.bucket}") String bucket,
+                                @Value("${app.storage.s3.key-prefix:images/}") String keyPrefix,
+                                @Value("${app.storage.s3.public-url}") String publicUrl,
+                                @Value("${app.storage.s3.part-size:5MB}") DataSize partSize,
+                                @Value("${app.storage.s3.upload-parallelism:4}") int uploadParallelism) {
+        if (partSize.toBytes() < MIN_PART_SIZE || partSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("app.storage.s3.part-size must be between 5MB and 2GB");
+        }
+        if (uploadParallelism < 1) {
+            throw new IllegalArgumentException("app.storage.s3.upload-parallelism must be at least 1");
+        }
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.keyPrefix = keyPrefix.isEmpty() || keyPrefix.endsWith("/") ? keyPrefix : keyPrefix + "/";
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+        this.partSize = (int) partSize.toBytes();
+        this.uploadParallelism = uploadParallelism;
+    }
+
+    /**
+     * Gemmer filen i bucketen under en unik, sharded nøgle.
+     *
+     * @param file filen der skal gemmes (må ikke være tom)
+     * @return den offentlige URL til filen (fx "https://cdn.example.com/images/9c/41/uuid.jpg")
+     * @throws IllegalArgumentException hvis filen er tom
+     * @throws RuntimeException hvis filen ikke kan gemmes
+     */
+    @Override
+    public String store(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Cannot store empty file");
+        }
+
+        try (InputStream content = file.getInputStream()) {
+            return store(content, file.getOriginalFilename(), file.getContentType());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + file.getOriginalFilename(), e);
+        }
+    }
+
+    /**
+     * Gemmer indholdet af en stream uden at kende størrelsen på forhånd: første part læses, og slutter
+     * indholdet indenfor den, sendes det med én PutObject; ellers fortsættes med multipart upload.
+     *
+     * @param content filens indhold
+     * @param originalFilename klientens filnavn, extension bevares
+     * @param contentType filens content type (gemmes på objektet)
+     * @return den offentlige URL til filen
+     * @throws IllegalArgumentException hvis indholdet er tomt
+     * @throws RuntimeException hvis filen ikke kan gemmes
+     */
+    @Override
+    public String store(InputStream content, String originalFilename, String contentType) {
+        String extension = originalFilename != null && originalFilename.contains(".")
+                ? originalFilename.substring(originalFilename.lastIndexOf("."))
+                : "";
+        String key = keyPrefix + UploadLayout.shardedPath(UUID.randomUUID() + extension);
+
+        try {
+            byte[] firstPart = content.readNBytes(partSize);
+            if (firstPart.length == 0) {
+                throw new IllegalArgumentException("Cannot store empty file");
+            }
+            if (firstPart.length < partSize) {
+                s3Client.putObject(PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .contentType(contentType)
+                                .build(),
+                        RequestBody.fromBytes(firstPart));
+            } else {
+                multipartUpload(content, firstPart, key, contentType);
+            }
+            return publicUrl + "/" + key;
+
+        } catch (IOException | SdkException e) {
+            throw new RuntimeException("Failed to store file: " + originalFilename, e);
+        }
+    }
+
+    /**
+     * Sletter objektet bag en URL. URL'er fra et andet lager (fx gamle "/uploads/..." filer) springes over.
+     *
+     * @param url den offentlige URL til filen
+     * @throws SecurityException hvis URL'en peger udenfor nøgle-præfikset
+     * @throws RuntimeException hvis sletningen fejler
+     */
+    @Override
+    public void delete(String url) {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        if (!url.startsWith(publicUrl + "/")) {
+            log.debug("Not deleting {}: not stored in bucket {}", url, bucket);
+            return;
+        }
+
+        // Sikkerhedstjek: kun objekter som store har oprettet må slettes
+        String key = url.substring(publicUrl.length() + 1);
+        if (!key.startsWith(keyPrefix) || key.equals(keyPrefix) || key.contains("..")) {
+            throw new SecurityException("Cannot delete object outside " + keyPrefix);
+        }
+
+        // Idempotent: S3 svarer også OK når objektet allerede er slettet
+        s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+    }
+
+    // --- Helpers ---
+
+    private void multipartUpload(InputStream content, byte[] firstPart, String key, String contentType)
+            throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        try {
+            List<CompletedPart> parts = uploadParts(content, firstPart, key, uploadId);
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            abortQuietly(key, uploadId);
+            throw e;
+        }
+    }
+
+    // Reads the next part only when a slot is free, so at most uploadParallelism parts are buffered
+    private List<CompletedPart> uploadParts(InputStream content, byte[] firstPart, String key, String uploadId)
+            throws IOException {
+        Semaphore slots = new Semaphore(uploadParallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<CompletedPart>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Every part holds a slot from before it is read until it is uploaded
+            slots.acquire();
+            byte[] part = firstPart;
+            for (int partNumber = 1; ; partNumber++) {
+                int number = partNumber;
+                byte[] data = part;
+                results.add(executor.submit(() -> {
+                    try {
+                        return uploadPart(key, uploadId, number, data);
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        slots.release();
+                    }
+                }));
+
+                slots.acquire();
+                // Once a part failed the upload is aborted, so the rest of the file is not read
+                if (failed.get()) {
+                    slots.release();
+                    break;
+                }
+                part = content.readNBytes(partSize);
+                if (part.length == 0) {
+                    slots.release();
+                    break;
+                }
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(results.size());
+            for (Future<CompletedPart> result : results) {
+                parts.add(result.get());
+            }
+            return parts;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Upload of " + key + " was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("Upload of " + key + " failed", e.getCause());
+        }
+    }
+
+    private CompletedPart uploadPart(String key, String uploadId, int partNumber, byte[] part) {
+        UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) part.length)
+                        .build(),
+                RequestBody.fromBytes(part));
+        return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Could not abort multipart upload {} of {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.ek.portfoliobackend.service.impl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
+import org.ek.portfoliobackend.dto.request.ImageUploadRequest;
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.ek.portfoliobackend.service.ProjectService;
+import org.ek.portfoliobackend.service.StreamingProjectUploadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the multipart body with the streaming API of Commons FileUpload: parts are read one after the other
+ * straight from the request, and each image is handed to ImageStorageService.store(InputStream, ...) as it arrives.
+ * The bytes of an image are written once, to a temp file next to its final location that is renamed when complete
+ * (or streamed to the bucket with S3), instead of servlet temp file + copy.
+ *
+ * The size limits of spring.servlet.multipart.* apply here as well. If anything fails, the images stored so far
+ * are deleted; once all parts are read, ProjectService.createProjectWithStoredImages takes over the files.
+ */
+@Service
+public class StreamingProjectUploadServiceImpl implements StreamingProjectUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingProjectUploadServiceImpl.class);
+
+    private static final TypeReference<List<ImageUploadRequest>> IMAGE_METADATA = new TypeReference<>() {};
+
+    private final ProjectService projectService;
+    private final ImageStorageService imageStorageService;
+    private final JsonMapper jsonMapper;
+    private final long maxFileSize;
+    private final long maxRequestSize;
+
+    public StreamingProjectUploadServiceImpl(ProjectService projectService,
+                                             ImageStorageService imageStorageService,
+                                             JsonMapper jsonMapper,
+                                             @Value("${spring.servlet.multipart.max-file-size:1MB}") DataSize maxFileSize,
+                                             @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize) {
+        this.projectService = projectService;
+        this.imageStorageService = imageStorageService;
+        this.jsonMapper = jsonMapper;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+    }
+
+    @Override
+    public ProjectResponse createProject(HttpServletRequest request) {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("Request must be multipart/form-data");
+        }
+
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setFileSizeMax(maxFileSize);
+        upload.setSizeMax(maxRequestSize);
+
+        CreateProjectRequest data = null;
+        List<ImageUploadRequest> imageMetadata = null;
+        List<String> imageUrls = new ArrayList<>();
+        try {
+            FileItemInputIterator parts = upload.getItemIterator(request);
+            while (parts.hasNext()) {
+                FileItemInput part = parts.next();
+                String name = String.valueOf(part.getFieldName());
+                switch (name) {
+                    case "data" -> data = readJson(part, name, CreateProjectRequest.class);
+                    case "imageMetadata" -> imageMetadata = readJson(part, name, IMAGE_METADATA);
+                    case "images" -> {
+                        // Fail before storing an image that can not be matched with metadata
+                        if (imageMetadata != null && imageUrls.size() >= imageMetadata.size()) {
+                            throw new IllegalArgumentException(String.format(
+                                    "Mismatch between images and metadata (%d) count", imageMetadata.size()));
+                        }
+                        imageUrls.add(store(part));
+                    }
+                    default -> log.debug("Ignoring unknown part '{}'", name);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteStoredImages(imageUrls);
+            throw translate(e);
+        }
+
+        log.debug("Streamed {} images to storage", imageUrls.size());
+        return projectService.createProjectWithStoredImages(data, imageUrls, imageMetadata);
+    }
+
+    // --- Helpers ---
+
+    private String store(FileItemInput part) throws IOException {
+        try (InputStream content = part.getInputStream()) {
+            return imageStorageService.store(content, part.getName(), part.getContentType());
+        }
+    }
+
+    private <T> T readJson(FileItemInput part, String name, Class<T> type) throws IOException {
+        try (InputStream content = part.getInputStream()) {
+            return jsonMapper.readValue(content, type);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Invalid JSON in part '" + name + "'", e);
+        }
+    }
+
+    private <T> T readJson(FileItemInput part, String name, TypeReference<T> type) throws IOException {
+        try (InputStream content = part.getInputStream()) {
+            return jsonMapper.readValue(content, type);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Invalid JSON in part '" + name + "'", e);
+        }
+    }
+
+    // A size limit can be hit inside ImageStorageService, which wraps the IOException
+    private RuntimeException translate(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FileUploadSizeException sizeException) {
+                return new IllegalArgumentException("Upload too large: " + sizeException.getMessage(), e);
+            }
+        }
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new RuntimeException("Failed to read upload: " + e.getMessage(), e);
+    }
+
+    private void deleteStoredImages(List<String> imageUrls) {
+        for (String imageUrl : imageUrls) {
+            try {
+                imageStorageService.delete(imageUrl);
+            } catch (Exception cleanupException) {
+                log.warn("Could not delete {} after a failed upload: {}", imageUrl, cleanupException.getMessage());
+            }
+        }
+    }
+}
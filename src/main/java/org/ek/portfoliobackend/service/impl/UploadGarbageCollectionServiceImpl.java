@@ -0,0 +1,359 @@
+package org.ek.portfoliobackend.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ek.portfoliobackend.dto.response.UploadGcStatusResponse;
+import org.ek.portfoliobackend.repository.ImageBlobRepository;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.service.ImageDerivativeService;
+import org.ek.portfoliobackend.service.UploadGarbageCollectionService;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds upload files that no image refers to (left behind by failed uploads or failed deletes) and removes them.
+ *
+ * Every run scans the next batch of files in path order, continuing after the cursor of the previous run, so a run
+ * only lists the directories on its way. References are checked with one IN query per chunk of files. Files younger
+ * than min-age are skipped, because createProject stores its files before the transaction commits. Files with a
+ * reference count in image_blob are kept as well: a deduplicated upload reuses an old file (keeping its old
+ * modification time) and counts its reference before its image row is committed.
+ * Orphans are moved to the .quarantine folder (keeping their path) and deleted when the quarantine period is over,
+ * so a wrongly collected file can still be moved back.
+ */
+@Service
+public class UploadGarbageCollectionServiceImpl implements UploadGarbageCollectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadGarbageCollectionServiceImpl.class);
+
+    // Max. number of URLs in one IN query
+    private static final int MAX_IN_SIZE = 500;
+
+    private static final Pattern DERIVATIVE = Pattern.compile("(.+)-(\\d+)w\\.jpg");
+
+    private final Path uploadPath;
+    private final Path quarantinePath;
+    private final ImageRepository imageRepository;
+    private final ImageBlobRepository imageBlobRepository;
+    private final Counter bytesReclaimedCounter;
+    private final int batchSize;
+    private final Duration minAge;
+    private final Duration quarantinePeriod;
+    private final boolean enabled;
+
+    // Guards the fields below. A lock instead of synchronized: a scan does file and JDBC I/O, which would pin a
+    // virtual thread to its carrier while holding a monitor
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Progress since startup (a restart begins a new pass)
+    private String cursor = "";
+    private Instant lastRunAt;
+    private Instant lastPassCompletedAt;
+    private long filesScanned;
+    private long filesQuarantined;
+    private long filesPurged;
+    private long bytesReclaimed;
+
+    public UploadGarbageCollectionServiceImpl(@Value("${file.upload-dir:./uploads}") String uploadDir,
+                                              ImageRepository imageRepository,
+                                              ImageBlobRepository imageBlobRepository,
+                                              MeterRegistry meterRegistry,
+                                              @Value("${app.storage.gc.batch-size:500}") int batchSize,
+                                              @Value("${app.storage.gc.min-age:PT1H}") Duration minAge,
+                                              @Value("${app.storage.gc.quarantine-period:P7D}") Duration quarantinePeriod,
+                                              @Value("${app.storage.gc.enabled:true}") boolean enabled) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.quarantinePath = uploadPath.resolve(UploadLayout.QUARANTINE_DIR);
+        this.imageRepository = imageRepository;
+        this.imageBlobRepository = imageBlobRepository;
+        this.bytesReclaimedCounter = Counter.builder("uploads.gc.reclaimed")
+                .description("Bytes freed by deleting orphaned upload files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.minAge = minAge;
+        this.quarantinePeriod = quarantinePeriod;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public UploadGcStatusResponse runIncrementalScan() {
+        lock.lock();
+        try {
+            return scan(Instant.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UploadGcStatusResponse getStatus() {
+        lock.lock();
+        try {
+            return new UploadGcStatusResponse(cursor, lastRunAt, lastPassCompletedAt, filesScanned,
+                    filesQuarantined, filesPurged, bytesReclaimed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.gc.interval-ms:300000}",
+            initialDelayString = "${app.storage.gc.interval-ms:300000}")
+    public void scheduledScan() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            runIncrementalScan();
+        } catch (Exception e) {
+            log.warn("Upload garbage collection failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // --- Helpers for scanning ---
+
+    // Called with the lock held
+    private UploadGcStatusResponse scan(Instant now) {
+        try {
+            List<String> batch = nextBatch();
+            if (batch.isEmpty()) {
+                cursor = "";
+                lastPassCompletedAt = now;
+            } else {
+                cursor = batch.get(batch.size() - 1);
+                filesScanned += batch.size();
+                for (String orphan : findOrphans(batch, now.minus(minAge))) {
+                    try {
+                        quarantine(orphan, now);
+                    } catch (NoSuchFileException e) {
+                        // Deleted in the meantime (e.g. by the file deletion queue)
+                    }
+                }
+            }
+            purgeQuarantine(now.minus(quarantinePeriod));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Upload garbage collection failed", e);
+        } finally {
+            lastRunAt = now;
+        }
+        return getStatus();
+    }
+
+    // The next batchSize files after the cursor, in path order
+    private List<String> nextBatch() throws IOException {
+        List<String> batch = new ArrayList<>();
+        if (Files.isDirectory(uploadPath)) {
+            collect(uploadPath, "", batch);
+        }
+        return batch;
+    }
+
+    private void collect(Path dir, String prefix, List<String> batch) throws IOException {
+        // Directories sort as "name/" so the order matches comparing the full relative paths
+        SortedMap<String, Path> children = new TreeMap<>();
+        try (Stream<Path> entries = Files.list(dir)) {
+            entries.forEach(child -> children.put(child.getFileName().toString()
+                    + (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS) ? "/" : ""), child));
+        }
+
+        for (Map.Entry<String, Path> child : children.entrySet()) {
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            String relativePath = prefix + child.getKey();
+            if (relativePath.endsWith("/")) {
+                // .quarantine and .sessions are managed by their own services
+                if (UploadLayout.isHidden(relativePath)) {
+                    continue;
+                }
+                // Skip directories that lie completely before the cursor
+                if (relativePath.compareTo(cursor) < 0 && !cursor.startsWith(relativePath)) {
+                    continue;
+                }
+                collect(child.getValue(), relativePath, batch);
+            } else if (relativePath.compareTo(cursor) > 0
+                    && Files.isRegularFile(child.getValue(), LinkOption.NOFOLLOW_LINKS)) {
+                batch.add(relativePath);
+            }
+        }
+    }
+
+    private List<String> findOrphans(List<String> batch, Instant cutoff) throws IOException {
+        List<String> orphans = new ArrayList<>();
+        List<String> originals = new ArrayList<>();
+
+        for (String relativePath : batch) {
+            Path file = uploadPath.resolve(relativePath);
+            if (!isOlderThan(file, cutoff)) {
+                continue;
+            }
+            String filename = file.getFileName().toString();
+            if (filename.startsWith(".")) {
+                // Temp file of an upload or derivative that never finished
+                orphans.add(relativePath);
+            } else if (isDerivative(filename)) {
+                // A derivative is moved together with its original; alone it is an orphan
+                if (!hasOriginal(file)) {
+                    orphans.add(relativePath);
+                }
+            } else {
+                originals.add(relativePath);
+            }
+        }
+
+        Set<String> referenced = findReferenced(originals);
+        List<String> unreferenced = originals.stream().filter(original -> !referenced.contains(original)).toList();
+        Set<String> countedBlobs = findCountedBlobs(unreferenced);
+        for (String original : unreferenced) {
+            if (!countedBlobs.contains(Paths.get(original).getFileName().toString())) {
+                orphans.add(original);
+            }
+        }
+        return orphans;
+    }
+
+    // Filenames (content-addressed storage) that image_blob still counts references for
+    private Set<String> findCountedBlobs(List<String> relativePaths) {
+        List<String> filenames = relativePaths.stream()
+                .map(relativePath -> Paths.get(relativePath).getFileName().toString())
+                .distinct()
+                .toList();
+        Set<String> counted = new HashSet<>();
+        for (int from = 0; from < filenames.size(); from += MAX_IN_SIZE) {
+            counted.addAll(imageBlobRepository.findReferencedFilenamesIn(
+                    filenames.subList(from, Math.min(from + MAX_IN_SIZE, filenames.size()))));
+        }
+        return counted;
+    }
+
+    // Image URLs are stored relative ("/uploads/...") or absolute ("http://host/uploads/..."), so every file is
+    // looked up with each prefix that is in use
+    private Set<String> findReferenced(List<String> relativePaths) {
+        if (relativePaths.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> prefixes = new LinkedHashSet<>(imageRepository.findUploadUrlPrefixes());
+        prefixes.add("");
+
+        List<String> urls = new ArrayList<>();
+        for (String relativePath : relativePaths) {
+            for (String prefix : prefixes) {
+                urls.add(prefix + UploadLayout.url(relativePath));
+            }
+        }
+
+        Set<String> referenced = new HashSet<>();
+        for (int from = 0; from < urls.size(); from += MAX_IN_SIZE) {
+            for (String url : imageRepository.findUrlsIn(urls.subList(from, Math.min(from + MAX_IN_SIZE, urls.size())))) {
+                referenced.add(UploadLayout.relativePath(url));
+            }
+        }
+        return referenced;
+    }
+
+    private boolean isDerivative(String filename) {
+        Matcher matcher = DERIVATIVE.matcher(filename);
+        return matcher.matches() && ImageDerivativeService.WIDTHS.contains(Integer.parseInt(matcher.group(2)));
+    }
+
+    // The original has the derivative's base name with any extension, e.g. "abc.png" for "abc-320w.jpg"
+    private boolean hasOriginal(Path derivative) throws IOException {
+        Matcher matcher = DERIVATIVE.matcher(derivative.getFileName().toString());
+        if (!matcher.matches()) {
+            return false;
+        }
+        String originalPrefix = matcher.group(1) + ".";
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(derivative.getParent(),
+                sibling -> sibling.getFileName().toString().startsWith(originalPrefix))) {
+            return siblings.iterator().hasNext();
+        }
+    }
+
+    // --- Helpers for quarantine ---
+
+    private void quarantine(String relativePath, Instant now) throws IOException {
+        Path file = uploadPath.resolve(relativePath);
+        move(file, quarantinePath.resolve(relativePath), now);
+
+        // Derivatives of an orphaned original are orphans too
+        String filename = file.getFileName().toString();
+        if (!filename.startsWith(".") && !isDerivative(filename)) {
+            for (int width : ImageDerivativeService.WIDTHS) {
+                String derivative = ImageDerivativeService.derivativeUrl(filename, width);
+                if (Files.exists(file.resolveSibling(derivative))) {
+                    move(file.resolveSibling(derivative),
+                            quarantinePath.resolve(relativePath).resolveSibling(derivative), now);
+                }
+            }
+        }
+        log.info("Quarantined orphaned upload {}", relativePath);
+    }
+
+    // The modification time is reset, so the quarantine period starts now
+    private void move(Path source, Path target, Instant now) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(target, FileTime.from(now));
+        filesQuarantined++;
+    }
+
+    private void purgeQuarantine(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(quarantinePath)) {
+            return;
+        }
+        List<Path> expired;
+        try (Stream<Path> files = Files.walk(quarantinePath)) {
+            expired = files.filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS))
+                    .filter(path -> isOlderThan(path, cutoff))
+                    .limit(batchSize)
+                    .toList();
+        }
+
+        for (Path path : expired) {
+            long size;
+            try {
+                size = Files.size(path);
+                Files.delete(path);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            filesPurged++;
+            bytesReclaimed += size;
+            bytesReclaimedCounter.increment(size);
+        }
+        if (!expired.isEmpty()) {
+            log.info("Deleted {} quarantined uploads, {} bytes reclaimed in total", expired.size(), bytesReclaimed);
+        }
+    }
+
+    // False for files that disappeared while scanning
+    private boolean isOlderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.repository.PendingFileDeletionRepository;
+import org.ek.portfoliobackend.service.ImageDerivativeService;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Engangs-migrering fra den flade upload-mappe ("/uploads/uuid.jpg") til shard-mapper ("/uploads/9c/41/uuid.jpg").
+ *
+ * Køres ved at starte applikationen med app.storage.migrate-layout=true (før trafikken lukkes ind; ApplicationRunner
+ * kører før ApplicationReadyEvent). For hver billed-URL flyttes originalen og dens varianter, og derefter opdateres
+ * alle Image-rækker med den URL, og i samme transaktion de rækker i pending_file_deletion der venter på at slette
+ * samme fil (ellers ville sletningen pege på den gamle placering). Migreringen kan køres igen: filer der allerede er flyttet får blot rettet URL'en.
+ * Filer uden Image-række flyttes ikke.
+ */
+@Component
+public class UploadLayoutMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadLayoutMigration.class);
+
+    private final Path uploadPath;
+    private final ImageRepository imageRepository;
+    private final PendingFileDeletionRepository pendingFileDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public UploadLayoutMigration(@Value("${file.upload-dir:./uploads}") String uploadDir,
+                                 ImageRepository imageRepository,
+                                 PendingFileDeletionRepository pendingFileDeletionRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.storage.migrate-layout:false}") boolean enabled) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.imageRepository = imageRepository;
+        this.pendingFileDeletionRepository = pendingFileDeletionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Result result = migrate();
+        log.info("Upload layout migration done: {} moved, {} already sharded, {} missing on disk",
+                result.moved(), result.alreadySharded(), result.missing());
+    }
+
+    /**
+     * Move every flat upload that is referenced by an image into its shard directory and update the URLs
+     * (images and queued deletions)
+     *
+     * @return how many files were moved, already sharded, or missing on disk
+     */
+    public Result migrate() {
+        int moved = 0;
+        int alreadySharded = 0;
+        int missing = 0;
+
+        for (String url : imageRepository.findDistinctUrls()) {
+            String relativePath = UploadLayout.relativePath(url);
+            if (!ImageDerivativeService.hasDerivatives(url) || relativePath.isBlank() || relativePath.contains("/")) {
+                continue;
+            }
+
+            Path flat = UploadLayout.resolve(uploadPath, relativePath);
+            String shardedPath = UploadLayout.shardedPath(relativePath);
+            Path sharded = UploadLayout.resolve(uploadPath, shardedPath);
+
+            try {
+                if (Files.exists(flat)) {
+                    moveWithDerivatives(flat, sharded);
+                    moved++;
+                } else if (Files.exists(sharded)) {
+                    // Moved by an earlier run that stopped before the URL was updated
+                    alreadySharded++;
+                } else {
+                    log.warn("Upload {} does not exist, leaving its URL unchanged", url);
+                    missing++;
+                    continue;
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to move upload: " + url, e);
+            }
+
+            String newUrl = url.substring(0, url.length() - relativePath.length()) + shardedPath;
+            transactionTemplate.executeWithoutResult(status -> {
+                imageRepository.updateUrl(url, newUrl);
+                pendingFileDeletionRepository.updateUrl(url, newUrl);
+            });
+        }
+
+        return new Result(moved, alreadySharded, missing);
+    }
+
+    // --- Helpers ---
+
+    private void moveWithDerivatives(Path flat, Path sharded) throws IOException {
+        Files.createDirectories(sharded.getParent());
+        move(flat, sharded);
+
+        String filename = flat.getFileName().toString();
+        for (int width : ImageDerivativeService.WIDTHS) {
+            String derivative = ImageDerivativeService.derivativeUrl(filename, width);
+            Path flatDerivative = flat.resolveSibling(derivative);
+            if (Files.exists(flatDerivative)) {
+                move(flatDerivative, sharded.resolveSibling(derivative));
+            }
+        }
+    }
+
+    // Same directory tree, so the move is a rename; an existing target is the same file from an earlier run
+    private void move(Path source, Path target) throws IOException {
+        if (Files.exists(target)) {
+            Files.delete(source);
+        } else {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    public record Result(int moved, int alreadySharded, int missing) {
+    }
+}
@@ -0,0 +1,319 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.dto.request.CreateUploadSessionRequest;
+import org.ek.portfoliobackend.dto.response.UploadSessionResponse;
+import org.ek.portfoliobackend.exception.custom.ResourceNotFoundException;
+import org.ek.portfoliobackend.model.UploadSession;
+import org.ek.portfoliobackend.repository.UploadSessionRepository;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.ek.portfoliobackend.service.UploadSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the chunks of each session as separate files in uploads/.sessions/<id>/ ("<index>.part"). A chunk is written
+ * to a temp file and renamed when complete, so an existing part file is always a whole chunk: the received chunks
+ * are simply the part files, and parallel or repeated PUTs of chunks need no locking.
+ *
+ * Completing a session streams the parts in order into ImageStorageService.store, so the file is written once more
+ * (to its final place) and never held in memory. Sessions expire after app.upload.sessions.ttl; a scheduled job
+ * deletes them together with their chunks.
+ */
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadSessionServiceImpl.class);
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path sessionsPath;
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ImageStorageService imageStorageService;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final Duration ttl;
+
+    public UploadSessionServiceImpl(@Value("${file.upload-dir:./uploads}") String uploadDir,
+                                    UploadSessionRepository uploadSessionRepository,
+                                    ImageStorageService imageStorageService,
+                                    @Value("${app.upload.sessions.chunk-size:5MB}") DataSize chunkSize,
+                                    @Value("${app.upload.sessions.max-file-size:100MB}") DataSize maxFileSize,
+                                    @Value("${app.upload.sessions.ttl:PT24H}") Duration ttl) {
+        if (chunkSize.toBytes() < 1 || chunkSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("app.upload.sessions.chunk-size must be between 1B and 2GB");
+        }
+        this.sessionsPath = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(UploadLayout.SESSIONS_DIR);
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.imageStorageService = imageStorageService;
+        this.chunkSize = (int) chunkSize.toBytes();
+        this.maxFileSize = maxFileSize.toBytes();
+        this.ttl = ttl;
+    }
+
+    @Override
+    @Transactional
+    public UploadSessionResponse createSession(CreateUploadSessionRequest request) {
+        if (request.getSize() > maxFileSize) {
+            throw new IllegalArgumentException(String.format(
+                    "File is too large (%d bytes), the maximum is %d bytes", request.getSize(), maxFileSize));
+        }
+
+        Instant now = Instant.now();
+        UploadSession session = uploadSessionRepository.save(new UploadSession(UUID.randomUUID().toString(),
+                request.getFilename(), request.getContentType(), request.getSize(), chunkSize, now, now.plus(ttl)));
+
+        try {
+            Files.createDirectories(sessionDir(session));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create upload session directory", e);
+        }
+        log.debug("Created upload session {} for {} ({} bytes)", session.getId(), session.getFilename(),
+                session.getTotalSize());
+        return toResponse(session);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getSession(String sessionId) {
+        return toResponse(findActiveSession(sessionId));
+    }
+
+    @Override
+    public UploadSessionResponse writeChunk(String sessionId, long offset, long length, InputStream content) {
+        UploadSession session = findActiveSession(sessionId);
+
+        if (offset < 0 || offset >= session.getTotalSize() || offset % session.getChunkSize() != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Offset %d is not the start of a chunk (chunk size %d)", offset, session.getChunkSize()));
+        }
+        long expectedLength = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+        if (length != expectedLength) {
+            throw new IllegalArgumentException(String.format(
+                    "Chunk at offset %d must be %d bytes, got %d", offset, expectedLength, length));
+        }
+
+        Path dir = sessionDir(session);
+        Path temp = null;
+        try {
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, ".chunk-", ".tmp");
+            long written = Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            if (written != expectedLength) {
+                throw new IllegalArgumentException(String.format(
+                        "Chunk at offset %d must be %d bytes, received %d", offset, expectedLength, written));
+            }
+            // Replaces a chunk that was sent before, the content is the same
+            Files.move(temp, partPath(dir, (int) (offset / session.getChunkSize())),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store chunk at offset " + offset + " of " + sessionId, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+
+        return toResponse(session);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String completeSession(String sessionId) {
+        UploadSession session = findActiveSession(sessionId);
+
+        int missing = session.getChunkCount() - receivedChunks(session).size();
+        if (missing > 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Upload session %s is missing %d of %d chunks", sessionId, missing, session.getChunkCount()));
+        }
+
+        Path dir = sessionDir(session);
+        String url;
+        try (InputStream content = new SequenceInputStream(partStreams(dir, session.getChunkCount()))) {
+            url = imageStorageService.store(content, session.getFilename(), session.getContentType());
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to read upload session " + sessionId, e);
+        }
+
+        uploadSessionRepository.delete(session);
+        deleteChunksAfterCommit(dir);
+        log.debug("Completed upload session {} as {}", sessionId, url);
+        return url;
+    }
+
+    @Override
+    @Transactional
+    public void deleteSession(String sessionId) {
+        UploadSession session = uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session", sessionId));
+        uploadSessionRepository.delete(session);
+        deleteChunksAfterCommit(sessionDir(session));
+    }
+
+    /**
+     * Deletes expired sessions with their chunks, and chunk directories without a session (e.g. a chunk that was
+     * still being written when its session was completed).
+     *
+     * @return the number of deleted sessions
+     */
+    @Scheduled(fixedDelayString = "${app.upload.sessions.cleanup-interval-ms:3600000}",
+            initialDelayString = "${app.upload.sessions.cleanup-interval-ms:3600000}")
+    public int deleteExpiredSessions() {
+        Instant now = Instant.now();
+        List<UploadSession> expired = uploadSessionRepository.findByExpiresAtBefore(now);
+        for (UploadSession session : expired) {
+            uploadSessionRepository.delete(session);
+            deleteChunks(sessionDir(session));
+        }
+
+        if (Files.isDirectory(sessionsPath)) {
+            try (Stream<Path> dirs = Files.list(sessionsPath)) {
+                dirs.filter(dir -> isOlderThan(dir, now.minus(ttl)))
+                        .filter(dir -> !uploadSessionRepository.existsById(dir.getFileName().toString()))
+                        .forEach(this::deleteChunks);
+            } catch (IOException e) {
+                log.warn("Could not clean up {}: {}", sessionsPath, e.getMessage());
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            log.info("Deleted {} expired upload sessions", expired.size());
+        }
+        return expired.size();
+    }
+
+    // --- Helpers ---
+
+    private UploadSession findActiveSession(String sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .filter(session -> session.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session", sessionId));
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        Set<Integer> received = receivedChunks(session);
+        List<Long> missingOffsets = new ArrayList<>();
+        long receivedBytes = 0;
+        for (int index = 0; index < session.getChunkCount(); index++) {
+            long offset = (long) index * session.getChunkSize();
+            if (received.contains(index)) {
+                receivedBytes += Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+            } else {
+                missingOffsets.add(offset);
+            }
+        }
+        return new UploadSessionResponse(session.getId(), session.getFilename(), session.getTotalSize(),
+                session.getChunkSize(), receivedBytes, missingOffsets, session.getExpiresAt());
+    }
+
+    // Indexes of the part files in the session directory
+    private Set<Integer> receivedChunks(UploadSession session) {
+        Path dir = sessionDir(session);
+        if (!Files.isDirectory(dir)) {
+            return Set.of();
+        }
+        Set<Integer> received = new HashSet<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("\\d{1,9}\\" + PART_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(0, name.length() - PART_SUFFIX.length())))
+                    .filter(index -> index < session.getChunkCount())
+                    .forEach(received::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list chunks of " + session.getId(), e);
+        }
+        return received;
+    }
+
+    // Opens the parts one at a time, while SequenceInputStream reads through them
+    private Enumeration<InputStream> partStreams(Path dir, int chunkCount) {
+        return new Enumeration<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+                return index < chunkCount;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return Files.newInputStream(partPath(dir, index++));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    // Session ids are generated UUIDs, looked up in the database before a path is built from them
+    private Path sessionDir(UploadSession session) {
+        return sessionsPath.resolve(session.getId());
+    }
+
+    private Path partPath(Path dir, int index) {
+        return dir.resolve(index + PART_SUFFIX);
+    }
+
+    // On rollback the session row stays, so its chunks must stay too
+    private void deleteChunksAfterCommit(Path dir) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteChunks(dir);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteChunks(dir);
+            }
+        });
+    }
+
+    private void deleteChunks(Path dir) {
+        try {
+            FileSystemUtils.deleteRecursively(dir);
+        } catch (IOException e) {
+            log.warn("Could not delete upload session directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private boolean isOlderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary chunk file {}", path, e);
+        }
+    }
+}
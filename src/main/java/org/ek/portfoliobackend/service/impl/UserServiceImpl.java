@@ -1,12 +1,13 @@
 package org.ek.portfoliobackend.service.impl;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.ek.portfoliobackend.dto.request.CreateUserRequest;
 import org.ek.portfoliobackend.dto.request.UpdateUserRequest;
 import org.ek.portfoliobackend.dto.response.UserResponse;
 import org.ek.portfoliobackend.model.User;
 import org.ek.portfoliobackend.repository.UserRepository;
+import org.ek.portfoliobackend.security.TokenVersionCache;
 import org.ek.portfoliobackend.service.UserService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,11 +16,14 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenVersionCache tokenVersionCache;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           TokenVersionCache tokenVersionCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordEncoder = passwordEncoder;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
     @Override
@@ -60,6 +64,8 @@ public class UserServiceImpl implements UserService {
     public UserResponse updateUser(Long id, UpdateUserRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
+        String previousUsername = user.getUsername();
+        boolean revokeTokens = false;
 
         // update fields if present:
         // username
@@ -68,6 +74,7 @@ public class UserServiceImpl implements UserService {
                 userRepository.existsByUsername(request.getUsername())) {
                 throw new IllegalArgumentException("Username already exists");
             }
+            revokeTokens = !user.getUsername().equals(request.getUsername());
             user.setUsername(request.getUsername());
         }
         // email
@@ -81,10 +88,17 @@ public class UserServiceImpl implements UserService {
         // password
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
+            revokeTokens = true;
+        }
+
+        // tokens issued before a new password or username are no longer accepted
+        if (revokeTokens) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
         }
 
         // save updated user
         User updatedUser = userRepository.save(user);
+        tokenVersionCache.evict(previousUsername);
         return mapToResponse(updatedUser);
     }
 
@@ -94,6 +108,8 @@ public class UserServiceImpl implements UserService {
         throw new IllegalArgumentException("User not found with id: " + id);
     }
     userRepository.deleteById(id);
+    // the deleted user's tokens are rejected from the next request
+    tokenVersionCache.clear();
     }
 
     private UserResponse mapToResponse(User user) {
@@ -0,0 +1,5 @@
+-- ============================================
+-- Index til sortering og keyset pagination af projekter (executionDate, id)
+-- ============================================
+
+CREATE INDEX idx_project_execution_date_id ON project (execution_date, id);
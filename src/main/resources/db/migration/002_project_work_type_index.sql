@@ -0,0 +1,7 @@
+-- ============================================
+-- Index til filtrering af projekter på workType (GET /api/projects?workType=...)
+--
+-- Erstattes af idx_project_work_type_execution_date_id i 011.
+-- ============================================
+
+CREATE INDEX idx_project_work_type ON project (work_type);
@@ -0,0 +1,27 @@
+-- ============================================
+-- Opslagstabel: ét featured billede pr. workType (WorkType er primærnøgle)
+--
+-- Eksisterende data flyttes over: har en workType flere featured billeder,
+-- beholdes det nyeste (højeste id) og de øvrige sættes til is_featured = FALSE.
+-- ============================================
+
+CREATE TABLE featured_image (
+    work_type ENUM ('PAVING_CLEANING', 'WOODEN_DECK_CLEANING', 'ROOF_CLEANING', 'FACADE_CLEANING') NOT NULL,
+    image_id  BIGINT NOT NULL,
+    PRIMARY KEY (work_type),
+    CONSTRAINT uk_featured_image_image UNIQUE (image_id),
+    CONSTRAINT fk_featured_image_image FOREIGN KEY (image_id) REFERENCES image (id)
+);
+
+INSERT INTO featured_image (work_type, image_id)
+SELECT p.work_type, MAX(i.id)
+FROM image i
+         JOIN project p ON p.id = i.project_id
+WHERE i.is_featured = TRUE
+  AND p.work_type IS NOT NULL
+GROUP BY p.work_type;
+
+UPDATE image
+SET is_featured = FALSE
+WHERE is_featured = TRUE
+  AND id NOT IN (SELECT image_id FROM featured_image);
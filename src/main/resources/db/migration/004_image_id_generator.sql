@@ -0,0 +1,17 @@
+-- ============================================
+-- Tabel-baseret id-generering for billeder (erstatter AUTO_INCREMENT ved inserts)
+--
+-- Hibernate kan ikke batche inserts med IDENTITY, så Image-id'er hentes nu i blokke
+-- af 50 fra id_generator. Næste blok skal starte efter de eksisterende billeder.
+-- AUTO_INCREMENT på image.id kan blive stående; den bruges ikke længere af applikationen.
+-- ============================================
+
+CREATE TABLE id_generator (
+    gen_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (gen_name)
+);
+
+INSERT INTO id_generator (gen_name, next_val)
+SELECT 'image', COALESCE(MAX(id), 0) + 51
+FROM image;
@@ -0,0 +1,13 @@
+-- ============================================
+-- Referencetælling for det indholdsadresserede billedlager (app.storage.type=content-addressed)
+--
+-- Hver fil gemmes én gang under sin SHA-256 (fx "3f2a...9c.jpg"), og ref_count er antallet af
+-- image-rækker der peger på filen. Filen slettes først når ref_count når 0.
+-- Eksisterende UUID-navngivne filer står ikke i tabellen og slettes som før.
+-- ============================================
+
+CREATE TABLE image_blob (
+    filename VARCHAR(100) NOT NULL,
+    ref_count INT NOT NULL,
+    PRIMARY KEY (filename)
+);
@@ -0,0 +1,21 @@
+-- ============================================
+-- Kø af filer der skal slettes (outbox)
+--
+-- Sletning af et billede/projekt skriver en række her i samme transaktion, og en baggrundsjob
+-- sletter filerne efter commit (med genforsøg). Rækker der bliver liggende kan ses på
+-- GET /api/admin/file-deletions. Id'er hentes i blokke fra id_generator ligesom for image.
+-- ============================================
+
+CREATE TABLE pending_file_deletion (
+    id BIGINT NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_pending_file_deletion_due ON pending_file_deletion (next_attempt_at, id);
+
+INSERT INTO id_generator (gen_name, next_val) VALUES ('pending_file_deletion', 1);
@@ -0,0 +1,20 @@
+-- ============================================
+-- Genoptagelige uploads (upload sessions)
+--
+-- Store billeder kan sendes i bidder (PUT /api/upload-sessions/{id}/chunks?offset=...), så en afbrudt
+-- forbindelse kun skal gensende de manglende bidder. Rækken beskriver filen; de modtagne bidder ligger
+-- som filer i uploads/.sessions/<id>/ indtil billedet tilføjes et projekt, eller sessionen udløber.
+-- ============================================
+
+CREATE TABLE upload_session (
+    id VARCHAR(36) NOT NULL,
+    filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    chunk_size INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_upload_session_expires_at ON upload_session (expires_at);
@@ -0,0 +1,9 @@
+-- ============================================
+-- Token version pr. bruger
+--
+-- JWT'er indeholder brugerens token_version ("ver" claim), og requests godkendes ud fra token'ets
+-- claims uden at hente brugeren. Ændres password eller brugernavn, tælles versionen op, så
+-- brugerens gamle tokens afvises. Eksisterende tokens uden "ver" svarer til version 0.
+-- ============================================
+
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0;
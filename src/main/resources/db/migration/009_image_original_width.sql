@@ -0,0 +1,10 @@
+-- ============================================
+-- Bredden på originalen, når dens nedskalerede varianter (derivatives) er genereret
+--
+-- ProjectMapper viser kun varianter for billeder hvor original_width er sat, så srcset aldrig
+-- peger på filer der ikke findes (generering slået fra, ulæselig fil, eller endnu ikke færdig).
+-- Varianter bredere end originalen har originalens bredde og vises derfor kun én gang.
+-- NULL for eksisterende billeder; de udfyldes af baggrundsjobbet ved næste opstart.
+-- ============================================
+
+ALTER TABLE image ADD COLUMN original_width INT NULL;
@@ -0,0 +1,15 @@
+-- ============================================
+-- Tilbagekaldte tokens (deny-liste)
+--
+-- Logout og brugte refresh tokens gemmes her med deres jti, indtil tokenet udløber, så de stadig
+-- er afvist efter en genstart. Primærnøglen sikrer, at et refresh token kun kan bruges én gang,
+-- også når to requests (eller to instanser) bruger det samtidig. Udløbne rækker slettes af et job.
+-- ============================================
+
+CREATE TABLE denied_token (
+    jti VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti)
+);
+
+CREATE INDEX idx_denied_token_expires_at ON denied_token (expires_at);
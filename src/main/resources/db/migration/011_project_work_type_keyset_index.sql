@@ -0,0 +1,9 @@
+-- ============================================
+-- Index til keyset pagination af projekter filtreret på workType (workType, executionDate, id)
+--
+-- En side med ?workType=... læses som ét interval i indexet i stedet for at filtrere
+-- idx_project_execution_date_id. Erstatter idx_project_work_type, som er et præfiks af det nye index.
+-- ============================================
+
+CREATE INDEX idx_project_work_type_execution_date_id ON project (work_type, execution_date, id);
+DROP INDEX idx_project_work_type ON project;
@@ -46,31 +46,50 @@ VALUES ('Træterrasse behandling og rensning',
 -- ============================================
 
 -- Projekt 1 billeder (PAVING_CLEANING)
-INSERT INTO image(url, image_type, is_featured, project_id) VALUES
-    ('http://localhost:8080/uploads/IMG_0116.png', 'BEFORE', false, 1),
-    ('http://localhost:8080/uploads/IMG_0126.png', 'AFTER', false, 1),
-    ('http://localhost:8080/uploads/IMG_0126.png', null, true, 1);
+INSERT INTO image(id, url, image_type, is_featured, project_id) VALUES
+    (1, 'http://localhost:8080/uploads/IMG_0116.png', 'BEFORE', false, 1),
+    (2, 'http://localhost:8080/uploads/IMG_0126.png', 'AFTER', false, 1),
+    (3, 'http://localhost:8080/uploads/IMG_0126.png', null, true, 1);
 
 -- Projekt 2 billeder (FACADE_CLEANING)
-INSERT INTO image(url, image_type, is_featured, project_id) VALUES
-    ('http://localhost:8080/uploads/IMG_0130.png', 'BEFORE', false, 2),
-    ('http://localhost:8080/uploads/IMG_0135-1.png', 'AFTER', false, 2),
-    ('http://localhost:8080/uploads/IMG_0135-1.png', null, true, 2);
+INSERT INTO image(id, url, image_type, is_featured, project_id) VALUES
+    (4, 'http://localhost:8080/uploads/IMG_0130.png', 'BEFORE', false, 2),
+    (5, 'http://localhost:8080/uploads/IMG_0135-1.png', 'AFTER', false, 2),
+    (6, 'http://localhost:8080/uploads/IMG_0135-1.png', null, true, 2);
 
 -- Projekt 3 billeder (PAVING_CLEANING - Business)
-INSERT INTO image(url, image_type, is_featured, project_id) VALUES
-    ('http://localhost:8080/uploads/IMG_1420.png', 'BEFORE', false, 3),
-    ('http://localhost:8080/uploads/IMG_1432-1.png', 'AFTER', false, 3),
-    ('http://localhost:8080/uploads/IMG_1432-1.png', null, true, 3);
+INSERT INTO image(id, url, image_type, is_featured, project_id) VALUES
+    (7, 'http://localhost:8080/uploads/IMG_1420.png', 'BEFORE', false, 3),
+    (8, 'http://localhost:8080/uploads/IMG_1432-1.png', 'AFTER', false, 3),
+    (9, 'http://localhost:8080/uploads/IMG_1432-1.png', null, true, 3);
 
 -- Projekt 4 billeder (ROOF_CLEANING)
-INSERT INTO image(url, image_type, is_featured, project_id) VALUES
-    ('http://localhost:8080/uploads/IMG_3561-scaled_3.png', 'BEFORE', false, 4),
-    ('http://localhost:8080/uploads/IMG_3562-scaled_3.png', 'AFTER', false, 4),
-    ('http://localhost:8080/uploads/IMG_3562-scaled_3.png', null, true, 4);
+INSERT INTO image(id, url, image_type, is_featured, project_id) VALUES
+    (10, 'http://localhost:8080/uploads/IMG_3561-scaled_3.png', 'BEFORE', false, 4),
+    (11, 'http://localhost:8080/uploads/IMG_3562-scaled_3.png', 'AFTER', false, 4),
+    (12, 'http://localhost:8080/uploads/IMG_3562-scaled_3.png', null, true, 4);
 
 -- Projekt 5 billeder (WOODEN_DECK_CLEANING)
-INSERT INTO image(url, image_type, is_featured, project_id) VALUES
-    ('http://localhost:8080/uploads/IMG_0116.png', 'BEFORE', false, 5),
-    ('http://localhost:8080/uploads/IMG_0130.png', 'AFTER', false, 5),
-    ('http://localhost:8080/uploads/IMG_0130.png', null, true, 5);
\ No newline at end of file
+INSERT INTO image(id, url, image_type, is_featured, project_id) VALUES
+    (13, 'http://localhost:8080/uploads/IMG_0116.png', 'BEFORE', false, 5),
+    (14, 'http://localhost:8080/uploads/IMG_0130.png', 'AFTER', false, 5),
+    (15, 'http://localhost:8080/uploads/IMG_0130.png', null, true, 5);
+
+-- Billed-id'er tildeles fra id_generator tabellen, så nye billeder starter efter seed-data
+DELETE FROM id_generator WHERE gen_name = 'image';
+INSERT INTO id_generator(gen_name, next_val) VALUES ('image', 100);
+
+-- ============================================
+-- FEATURED BILLEDER (ét pr. workType - nyeste featured billede vinder)
+-- ============================================
+
+INSERT INTO featured_image(work_type, image_id)
+SELECT p.work_type, MAX(i.id)
+FROM image i
+         JOIN project p ON p.id = i.project_id
+WHERE i.is_featured = true
+GROUP BY p.work_type;
+
+UPDATE image SET is_featured = false
+WHERE is_featured = true
+  AND id NOT IN (SELECT image_id FROM featured_image);
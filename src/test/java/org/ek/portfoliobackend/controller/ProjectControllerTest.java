@@ -13,12 +13,20 @@ import org.springframework.context.annotation.Import;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
 import org.ek.portfoliobackend.dto.request.ImageUploadRequest;
+import org.ek.portfoliobackend.dto.response.FeaturedImageResponse;
 import org.ek.portfoliobackend.dto.response.ImageResponse;
+import org.ek.portfoliobackend.dto.response.ProjectPageResponse;
 import org.ek.portfoliobackend.dto.response.ProjectResponse;
 import org.ek.portfoliobackend.model.CustomerType;
 import org.ek.portfoliobackend.model.ImageType;
 import org.ek.portfoliobackend.model.WorkType;
+import org.ek.portfoliobackend.service.FeaturedImageService;
+import org.ek.portfoliobackend.service.PortfolioSnapshotService;
+import org.ek.portfoliobackend.service.PortfolioSnapshotService.PortfolioSnapshot;
+import org.ek.portfoliobackend.service.PortfolioVersionService;
+import org.ek.portfoliobackend.service.PortfolioVersionService.VersionStamp;
 import org.ek.portfoliobackend.service.ProjectService;
+import org.ek.portfoliobackend.service.StreamingProjectUploadService;
 import org.ek.portfoliobackend.exception.custom.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -33,6 +41,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
@@ -58,6 +67,18 @@ class ProjectControllerTest {
     @MockitoBean
     private ProjectService projectService;
 
+    @MockitoBean
+    private PortfolioSnapshotService portfolioSnapshotService;
+
+    @MockitoBean
+    private PortfolioVersionService portfolioVersionService;
+
+    @MockitoBean
+    private FeaturedImageService featuredImageService;
+
+    @MockitoBean
+    private StreamingProjectUploadService streamingProjectUploadService;
+
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -112,6 +133,10 @@ class ProjectControllerTest {
                 new ImageResponse(1L, "/uploads/before.jpg", ImageType.BEFORE, false),
                 new ImageResponse(2L, "/uploads/after.jpg", ImageType.AFTER, true)
         ));
+
+        // Setup version stamps used for ETag / Last-Modified
+        when(portfolioVersionService.getPortfolioVersion()).thenReturn(new VersionStamp("\"v1\"", 1_700_000_000_000L));
+        when(portfolioVersionService.getProjectVersion(anyLong())).thenReturn(new VersionStamp("\"p1\"", 1_700_000_000_000L));
     }
 
     @Test
@@ -140,6 +165,73 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.customerType").value("BUSINESS_CUSTOMER"));
     }
 
+    @Test
+    @DisplayName("GET /api/projects/{id} - Not Modified when If-None-Match matches the project version")
+    void getProjectById_WithMatchingEtag_ReturnsNotModified() throws Exception {
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects/1").header("If-None-Match", "\"p1\""))
+                .andExpect(status().isNotModified());
+
+        verify(projectService, never()).getProjectById(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/projects/{id} - Sends ETag and Last-Modified with the project")
+    void getProjectById_WithStaleEtag_ReturnsProjectWithValidators() throws Exception {
+
+        // Arrange
+        when(projectService.getProjectById(1L)).thenReturn(expectedResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects/1").header("If-None-Match", "\"p0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"p1\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/projects - Not Modified when If-None-Match matches the portfolio version")
+    void getAllProjects_WithMatchingVersionEtag_ReturnsNotModified() throws Exception {
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects").header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified());
+
+        verify(projectService, never()).getProjectsByFilters(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/projects - Not Modified when If-Modified-Since is not older than the portfolio")
+    void getAllProjects_WithCurrentIfModifiedSince_ReturnsNotModified() throws Exception {
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects").header("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(projectService, never()).getProjectsByFilters(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/projects/featured - Returns the featured image of each work type")
+    void getFeaturedImages_ReturnsFeaturedImages() throws Exception {
+
+        // Arrange
+        when(featuredImageService.getFeaturedImages()).thenReturn(List.of(
+                new FeaturedImageResponse(WorkType.FACADE_CLEANING, 1L,
+                        new ImageResponse(2L, "/uploads/after.jpg", ImageType.AFTER, true))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects/featured"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].workType").value("FACADE_CLEANING"))
+                .andExpect(jsonPath("$[0].projectId").value(1))
+                .andExpect(jsonPath("$[0].image.id").value(2));
+
+        verify(projectService, never()).getProjectById(any());
+    }
+
     @Test
     @DisplayName("GET /api/projects/{id} - Not Found")
     void getProjectById_WithInvalidId_ReturnsNotFound() throws Exception {
@@ -203,6 +295,93 @@ class ProjectControllerTest {
         verify(projectService).getProjectsByFilters(null, null, "asc");
     }
 
+    @Test
+    @DisplayName("GET /api/projects should serve snapshot bytes with a strong ETag")
+    void getAllProjects_WithSnapshot_ServesSnapshotBytes() throws Exception {
+
+        // Arrange
+        PortfolioSnapshot snapshot = new PortfolioSnapshot(
+                "[{\"id\":1}]".getBytes(), new byte[]{1, 2, 3}, "\"abc\"", "\"abc-gz\"");
+        when(portfolioSnapshotService.getSnapshot(null, null, null)).thenReturn(Optional.of(snapshot));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        verify(projectService, never()).getProjectsByFilters(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/projects should serve the gzip snapshot when the client accepts gzip")
+    void getAllProjects_WithSnapshotAndGzip_ServesCompressedBytes() throws Exception {
+
+        // Arrange
+        PortfolioSnapshot snapshot = new PortfolioSnapshot(
+                "[]".getBytes(), new byte[]{1, 2, 3}, "\"abc\"", "\"abc-gz\"");
+        when(portfolioSnapshotService.getSnapshot(null, null, null)).thenReturn(Optional.of(snapshot));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"abc-gz\""))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("GET /api/projects should serve the plain snapshot when gzip is refused with q=0")
+    void getAllProjects_WithGzipRefused_ServesPlainBytes() throws Exception {
+
+        // Arrange
+        PortfolioSnapshot snapshot = new PortfolioSnapshot(
+                "[]".getBytes(), new byte[]{1, 2, 3}, "\"abc\"", "\"abc-gz\"");
+        when(portfolioSnapshotService.getSnapshot(null, null, null)).thenReturn(Optional.of(snapshot));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects").header("Accept-Encoding", "x-gzip, gzip;q=0, *;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(content().bytes("[]".getBytes()));
+    }
+
+    @Test
+    @DisplayName("GET /api/projects should answer 304 when If-None-Match matches the snapshot")
+    void getAllProjects_WithMatchingEtag_ReturnsNotModified() throws Exception {
+
+        // Arrange
+        PortfolioSnapshot snapshot = new PortfolioSnapshot(
+                "[]".getBytes(), new byte[]{1, 2, 3}, "\"abc\"", "\"abc-gz\"");
+        when(portfolioSnapshotService.getSnapshot(null, null, null)).thenReturn(Optional.of(snapshot));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/projects?size=2 should return a page instead of the full list")
+    void getProjectPage_WithSize_ReturnsPage() throws Exception {
+
+        // Arrange
+        ProjectPageResponse page = new ProjectPageResponse(List.of(expectedResponse), 2, true, "MjAyNC0wNi0xNToy");
+        when(projectService.getProjectPage(null, null, null, 0, 2, "abc"))
+                .thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/projects")
+                        .param("size", "2")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("MjAyNC0wNi0xNToy"));
+
+        verify(projectService, never()).getProjectsByFilters(any(), any(), any());
+    }
+
 
     @Test
     @DisplayName("POST /api/projects - Success with valid data")
@@ -244,6 +423,38 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.images.length()").value(2));
     }
 
+    @Test
+    @DisplayName("POST /api/projects/stream - Hands the unparsed request to the streaming upload")
+    void createProjectStreaming_ReturnsCreated() throws Exception {
+        // Arrange
+        when(streamingProjectUploadService.createProject(any())).thenReturn(expectedResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/projects/stream")
+                        .contentType("multipart/form-data; boundary=boundary")
+                        .content("--boundary--\r\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.title").value("Test Facade Cleaning Project"));
+
+        verify(streamingProjectUploadService).createProject(any());
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    @DisplayName("POST /api/projects/stream - Invalid part returns 400")
+    void createProjectStreaming_InvalidPart_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(streamingProjectUploadService.createProject(any()))
+                .thenThrow(new IllegalArgumentException("Invalid JSON in part 'data'"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/projects/stream")
+                        .contentType("multipart/form-data; boundary=boundary")
+                        .content("--boundary--\r\n"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /api/projects - Validation error when images and metadata count mismatch")
     void createProject_WithMismatchedImageAndMetadata_ReturnsBadRequest() throws Exception {
@@ -0,0 +1,154 @@
+package org.ek.portfoliobackend.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ek.portfoliobackend.security.JwtAuthenticationFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UploadController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(UploadControllerTest.MetricsConfig.class)
+class UploadControllerTest {
+
+    @TempDir
+    static Path tempDir;
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("file.upload-dir", () -> tempDir.resolve("uploads").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path uploadDir = Files.createDirectories(tempDir.resolve("uploads"));
+        Files.writeString(uploadDir.resolve("image.jpg"), CONTENT, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void getUpload_shouldReturnFileWithImmutableCaching() throws Exception {
+        mockMvc.perform(get("/uploads/image.jpg"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().string(CONTENT))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void getUpload_withMatchingETag_shouldReturn304() throws Exception {
+        MvcResult first = mockMvc.perform(get("/uploads/image.jpg")).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/uploads/image.jpg").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getUpload_withRange_shouldReturnPartialContent() throws Exception {
+        mockMvc.perform(get("/uploads/image.jpg").header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("56789"))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"));
+
+        mockMvc.perform(get("/uploads/image.jpg").header(HttpHeaders.RANGE, "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("ghij"));
+    }
+
+    @Test
+    void getUpload_withUnsatisfiableRange_shouldReturn416() throws Exception {
+        mockMvc.perform(get("/uploads/image.jpg").header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void getUpload_withStaleIfRange_shouldReturnWholeFile() throws Exception {
+        mockMvc.perform(get("/uploads/image.jpg")
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void headUpload_shouldReturnHeadersWithoutBody() throws Exception {
+        mockMvc.perform(head("/uploads/image.jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getUpload_missingFile_shouldReturn404() throws Exception {
+        mockMvc.perform(get("/uploads/missing.jpg"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUpload_outsideUploadDir_shouldReturn404() throws Exception {
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+
+        mockMvc.perform(get("/uploads/%2E%2E/secret.txt"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUpload_shouldRecordBytesServed() throws Exception {
+        double before = meterRegistry.counter("uploads.bytes.scheduled").count();
+
+        mockMvc.perform(get("/uploads/image.jpg").header(HttpHeaders.RANGE, "bytes=0-3"))
+                .andExpect(status().isPartialContent());
+
+        assertThat(meterRegistry.counter("uploads.bytes.scheduled").count() - before).isEqualTo(4.0);
+        assertThat(meterRegistry.find("uploads.requests").tag("status", "206").timer()).isNotNull();
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        @Primary
+        MeterRegistry testMeterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.ek.portfoliobackend.controller;
+
+import org.ek.portfoliobackend.PortfolioBackendApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the throughput of a filtered project page (GET /api/projects?size=...) with Tomcat on platform threads
+ * and on virtual threads. Pages are not cached, so every request runs its JDBC queries; the full listing would only
+ * measure the response cache. Both runs use the same (small) Tomcat pool and Hikari pool, so only the execution
+ * mode differs.
+ *
+ * Starts a real server per mode, so it only runs on request:
+ * mvn test -Dtest=VirtualThreadLoadTest -Dloadtest=true
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int REQUESTS = 5_000;
+    private static final int CONCURRENCY = 200;
+    private static final int TOMCAT_THREADS = 20;
+    private static final String PATH = "/api/projects?workType=PAVING_CLEANING&sort=asc&size=10";
+
+    @Test
+    @DisplayName("GET /api/projects?size - serves the same load on platform and virtual threads and reports throughput")
+    void compareThroughput() throws Exception {
+        double platform = measure(false);
+        double virtual = measure(true);
+
+        log.info("Throughput of {} requests with {} concurrent clients: platform threads {} req/s, virtual threads {} req/s",
+                REQUESTS, CONCURRENCY, Math.round(platform), Math.round(virtual));
+    }
+
+    // --- Helpers ---
+
+    // Requests per second, after a warm-up
+    private double measure(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PortfolioBackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + (virtualThreads ? "virtual" : "platform"),
+                        "spring.jpa.show-sql=false")
+                .run();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH)).build();
+
+            assertThat(send(client, request, WARMUP_REQUESTS)).isZero();
+
+            long start = System.nanoTime();
+            int failures = send(client, request, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertThat(failures).as("failed requests with virtual threads=%s", virtualThreads).isZero();
+            return REQUESTS / seconds;
+        }
+    }
+
+    // Sends the requests with at most CONCURRENCY in flight; returns the number of failed requests
+    private int send(HttpClient client, HttpRequest request, int count) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return failures.get();
+    }
+}
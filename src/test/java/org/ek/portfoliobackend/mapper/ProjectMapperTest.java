@@ -3,6 +3,8 @@ package org.ek.portfoliobackend.mapper;
 import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
 import org.ek.portfoliobackend.dto.request.UpdateImageRequest;
 import org.ek.portfoliobackend.dto.request.UpdateProjectRequest;
+import org.ek.portfoliobackend.dto.response.ImageResponse;
+import org.ek.portfoliobackend.dto.response.ImageVariantResponse;
 import org.ek.portfoliobackend.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +21,7 @@ class ProjectMapperTest {
 
     @BeforeEach
     void setUp() {
-        projectMapper = new ProjectMapper();
+        projectMapper = new ProjectMapper(true);
     }
 
     @Test
@@ -201,7 +203,61 @@ class ProjectMapperTest {
         assertThat(image.getIsFeatured()).isTrue();
     }
 
+    @Test
+    @DisplayName("Should add derivative variants for uploaded images")
+    void testToImageResponseWithVariants() {
+        Image image = new Image(1L, "/uploads/abc.png", ImageType.AFTER, false, null);
+        image.setOriginalWidth(2000);
+
+        ImageResponse response = projectMapper.toImageResponse(image);
+
+        assertThat(response.getVariants())
+                .extracting(ImageVariantResponse::getUrl)
+                .containsExactly("/uploads/abc-320w.jpg", "/uploads/abc-800w.jpg", "/uploads/abc-1600w.jpg");
+        assertThat(response.getVariants())
+                .extracting(ImageVariantResponse::getWidth)
+                .containsExactly(320, 800, 1600);
     }
 
+    @Test
+    @DisplayName("Should give variants of a narrow original its real width, once")
+    void testToImageResponseWithNarrowOriginal() {
+        Image image = new Image(1L, "/uploads/abc.png", ImageType.AFTER, false, null);
+        image.setOriginalWidth(1000);
+
+        ImageResponse response = projectMapper.toImageResponse(image);
+
+        assertThat(response.getVariants())
+                .extracting(ImageVariantResponse::getUrl)
+                .containsExactly("/uploads/abc-320w.jpg", "/uploads/abc-800w.jpg", "/uploads/abc-1600w.jpg");
+        assertThat(response.getVariants())
+                .extracting(ImageVariantResponse::getWidth)
+                .containsExactly(320, 800, 1000);
+
+        image.setOriginalWidth(800);
+        assertThat(projectMapper.toImageResponse(image).getVariants())
+                .extracting(ImageVariantResponse::getWidth)
+                .containsExactly(320, 800);
+    }
 
+    @Test
+    @DisplayName("Should not add variants before they are generated, or when derivatives are disabled")
+    void testToImageResponseWithoutGeneratedVariants() {
+        Image pending = new Image(1L, "/uploads/abc.png", ImageType.AFTER, false, null);
+        Image generated = new Image(2L, "/uploads/def.png", ImageType.AFTER, false, null);
+        generated.setOriginalWidth(2000);
+
+        assertThat(projectMapper.toImageResponse(pending).getVariants()).isEmpty();
+        assertThat(new ProjectMapper(false).toImageResponse(generated).getVariants()).isEmpty();
+    }
 
+    @Test
+    @DisplayName("Should not add variants for external image URLs")
+    void testToImageResponseWithoutVariants() {
+        Image image = new Image(1L, "https://example.com/after1.jpg", ImageType.AFTER, true, null);
+
+        ImageResponse response = projectMapper.toImageResponse(image);
+
+        assertThat(response.getVariants()).isEmpty();
+    }
+}
@@ -26,11 +26,15 @@ class ImageRepositoryTest {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private FeaturedImageRepository featuredImageRepository;
+
     private Project testProject1;
     private Project testProject2;
 
     @BeforeEach
     void setUp() {
+        featuredImageRepository.deleteAll();
         imageRepository.deleteAll();
         projectRepository.deleteAll();
 
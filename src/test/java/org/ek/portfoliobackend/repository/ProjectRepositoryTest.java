@@ -23,8 +23,12 @@ class ProjectRepositoryTest {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private FeaturedImageRepository featuredImageRepository;
+
     @BeforeEach
     void setUp() {
+        featuredImageRepository.deleteAll();
         projectRepository.deleteAll();
     }
 
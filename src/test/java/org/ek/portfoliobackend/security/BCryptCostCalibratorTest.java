@@ -0,0 +1,28 @@
+package org.ek.portfoliobackend.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    @DisplayName("strengthFor - raises the cost while the doubled time stays within the target")
+    void strengthFor_doublesUntilTarget() {
+        // 60 ms at cost 10: 120 ms at 11, 240 ms at 12, 480 ms at 13
+        assertThat(BCryptCostCalibrator.strengthFor(Duration.ofMillis(250), Duration.ofMillis(60), 10, 16))
+                .isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("strengthFor - stays within min and max strength")
+    void strengthFor_clamps() {
+        assertThat(BCryptCostCalibrator.strengthFor(Duration.ofMillis(250), Duration.ofMillis(900), 10, 16))
+                .isEqualTo(10);
+        assertThat(BCryptCostCalibrator.strengthFor(Duration.ofSeconds(10), Duration.ofMillis(1), 10, 12))
+                .isEqualTo(12);
+    }
+}
@@ -0,0 +1,174 @@
+package org.ek.portfoliobackend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.ek.portfoliobackend.repository.DeniedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtTokenGenerator jwtTokenGenerator;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private DeniedTokenRepository deniedTokenRepository;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - verifies a token once and reuses its claims until it expires")
+    void doFilterInternal_cachesVerifiedClaims() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenGenerator, userDetailsService, tokenVersionCache, new TokenDenyList(deniedTokenRepository, 100), 100, false);
+        when(jwtTokenGenerator.extractAllClaims("token-a")).thenReturn(claims("admin", 60_000));
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 0)));
+        when(userDetailsService.loadUserByUsername("admin"))
+                .thenReturn(User.withUsername("admin").password("x").roles("ADMIN").build());
+
+        filter.doFilter(request("token-a"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("token-a"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtTokenGenerator, times(1)).extractAllClaims("token-a");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("admin");
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - does not cache tokens that are already expired")
+    void doFilterInternal_doesNotCacheExpiredClaims() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenGenerator, userDetailsService, tokenVersionCache, new TokenDenyList(deniedTokenRepository, 100), 100, false);
+        when(jwtTokenGenerator.extractAllClaims("token-b")).thenReturn(claims("admin", -1_000));
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 0)));
+        when(userDetailsService.loadUserByUsername("admin"))
+                .thenReturn(User.withUsername("admin").password("x").roles("ADMIN").build());
+
+        filter.doFilter(request("token-b"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("token-b"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtTokenGenerator, times(2)).extractAllClaims("token-b");
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - continues without authentication when the token is expired or malformed")
+    void doFilterInternal_continuesAnonymouslyWithInvalidToken() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenGenerator, userDetailsService, tokenVersionCache, new TokenDenyList(deniedTokenRepository, 100), 100, true);
+        when(jwtTokenGenerator.extractAllClaims("expired-token"))
+                .thenThrow(new ExpiredJwtException(null, claims("admin", -1_000), "expired"));
+        when(jwtTokenGenerator.extractAllClaims("garbage")).thenThrow(new MalformedJwtException("bad"));
+        MockFilterChain expiredChain = new MockFilterChain();
+        MockFilterChain garbageChain = new MockFilterChain();
+
+        filter.doFilter(request("expired-token"), new MockHttpServletResponse(), expiredChain);
+        filter.doFilter(request("garbage"), new MockHttpServletResponse(), garbageChain);
+
+        assertThat(expiredChain.getRequest()).isNotNull();
+        assertThat(garbageChain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(tokenVersionCache, userDetailsService);
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - stateless mode builds the user from the claims without loading it")
+    void doFilterInternal_statelessAcceptsCurrentTokenVersion() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenGenerator, userDetailsService, tokenVersionCache, new TokenDenyList(deniedTokenRepository, 100), 100, true);
+        Claims claims = claims("admin", 60_000);
+        claims.put(JwtTokenGenerator.ROLES_CLAIM, List.of(Map.of("authority", "ROLE_ADMIN")));
+        claims.put(JwtTokenGenerator.TOKEN_VERSION_CLAIM, 2);
+        when(jwtTokenGenerator.extractAllClaims("token-c")).thenReturn(claims);
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 2)));
+
+        filter.doFilter(request("token-c"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("admin");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - stateless mode ignores tokens of an older token version, a deleted user or a previous owner of the username")
+    void doFilterInternal_statelessRejectsRevokedTokens() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenGenerator, userDetailsService, tokenVersionCache, new TokenDenyList(deniedTokenRepository, 100), 100, true);
+        Claims previousOwner = claims("admin", 60_000);
+        previousOwner.put(JwtTokenGenerator.USER_ID_CLAIM, 7L);
+        previousOwner.put(JwtTokenGenerator.TOKEN_VERSION_CLAIM, 1);
+        when(jwtTokenGenerator.extractAllClaims("old-token")).thenReturn(claims("admin", 60_000));
+        when(jwtTokenGenerator.extractAllClaims("deleted-token")).thenReturn(claims("gone", 60_000));
+        when(jwtTokenGenerator.extractAllClaims("previous-owner-token")).thenReturn(previousOwner);
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 1)));
+        when(tokenVersionCache.currentVersion("gone")).thenReturn(Optional.empty());
+
+        filter.doFilter(request("old-token"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("deleted-token"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("previous-owner-token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - ignores refresh tokens and revoked (logged out) tokens")
+    void doFilterInternal_rejectsRefreshAndDeniedTokens() throws Exception {
+        TokenDenyList tokenDenyList = new TokenDenyList(deniedTokenRepository, 100);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenGenerator, userDetailsService, tokenVersionCache, tokenDenyList, 100, true);
+        Claims refresh = claims("admin", 60_000);
+        refresh.put(JwtTokenGenerator.TOKEN_TYPE_CLAIM, JwtTokenGenerator.REFRESH_TOKEN);
+        Claims loggedOut = claims("admin", 60_000).setId("jti-1");
+        tokenDenyList.deny("jti-1", loggedOut.getExpiration());
+        when(jwtTokenGenerator.extractAllClaims("refresh-token")).thenReturn(refresh);
+        when(jwtTokenGenerator.extractAllClaims("logged-out-token")).thenReturn(loggedOut);
+
+        filter.doFilter(request("refresh-token"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("logged-out-token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(tokenVersionCache, userDetailsService);
+    }
+
+    // --- Helpers ---
+
+    private Claims claims(String username, long expiresInMillis) {
+        Claims claims = Jwts.claims()
+                .setSubject(username)
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis));
+        claims.put(JwtTokenGenerator.USER_ID_CLAIM, 1L);
+        return claims;
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -35,7 +35,7 @@ public class JwtTokenGeneratorIntegrationTest {
                 .roles("ADMIN")
                 .build();
 
-        return jwtTokenGenerator.generateToken(admin);
+        return jwtTokenGenerator.generateToken(admin, new UserTokenVersion(1L, 0));
     }
 
 
@@ -0,0 +1,56 @@
+package org.ek.portfoliobackend.security;
+
+import org.ek.portfoliobackend.exception.custom.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("check - rejects an IP once its bucket is empty, other IPs are not affected")
+    void check_limitsPerIp() {
+        LoginThrottle throttle = new LoginThrottle(2, 1, 100, 100, now::get);
+
+        throttle.check("10.0.0.1", "a");
+        throttle.check("10.0.0.1", "b");
+
+        assertThatThrownBy(() -> throttle.check("10.0.0.1", "c"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(60));
+        assertThatCode(() -> throttle.check("10.0.0.2", "c")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("check - limits attempts per username across IPs, ignoring case")
+    void check_limitsPerUsername() {
+        LoginThrottle throttle = new LoginThrottle(100, 100, 2, 1, now::get);
+
+        throttle.check("10.0.0.1", "admin");
+        throttle.check("10.0.0.2", "Admin");
+
+        assertThatThrownBy(() -> throttle.check("10.0.0.3", "ADMIN"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("check - refills the bucket over time")
+    void check_refills() {
+        LoginThrottle throttle = new LoginThrottle(1, 2, 100, 100, now::get);
+        throttle.check("10.0.0.1", "admin");
+        assertThatThrownBy(() -> throttle.check("10.0.0.1", "admin"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertThatCode(() -> throttle.check("10.0.0.1", "admin")).doesNotThrowAnyException();
+    }
+}
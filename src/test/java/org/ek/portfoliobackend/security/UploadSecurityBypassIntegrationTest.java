@@ -0,0 +1,47 @@
+package org.ek.portfoliobackend.security;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UploadSecurityBypassIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    // ---- Uploads run through no security filters, the API keeps the full chain ----
+    @Test
+    void uploadsSkipTheSecurityFilterChain() {
+        List<Filter> uploadFilters = filterChainProxy.getFilters("/uploads/ab/cd/image.jpg");
+        List<Filter> apiFilters = filterChainProxy.getFilters("/api/projects");
+
+        assertThat(uploadFilters).isEmpty();
+        assertThat(apiFilters).hasAtLeastOneElementOfType(JwtAuthenticationFilter.class);
+    }
+
+    // ---- The bearer token of a logged in admin is not even parsed for an image ----
+    @Test
+    void whenInvalidTokenOnUpload_thenNotParsed() throws Exception {
+        mockMvc.perform(get("/uploads/ab/cd/missing.jpg")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"))
+                .andExpect(status().isNotFound());
+    }
+}
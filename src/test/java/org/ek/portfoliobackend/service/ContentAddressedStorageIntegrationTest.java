@@ -0,0 +1,155 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.repository.ImageBlobRepository;
+import org.ek.portfoliobackend.service.impl.ContentAddressedStorageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test for the content-addressed image store: identical uploads share one file,
+ * which is only removed when the last reference is deleted.
+ */
+@SpringBootTest(properties = "app.storage.type=content-addressed")
+@ActiveProfiles("test")
+@DisplayName("Content-addressed storage Tests")
+class ContentAddressedStorageIntegrationTest {
+
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("file.upload-dir", () -> uploadDir.toString());
+    }
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        imageBlobRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should use the content-addressed implementation when configured")
+    void storageService_isContentAddressed() {
+        assertThat(imageStorageService).isInstanceOf(ContentAddressedStorageServiceImpl.class);
+    }
+
+    @Test
+    @DisplayName("Should store identical content once and count the references")
+    void store_sameContentTwice_storesOneFile() {
+        String first = imageStorageService.store(file("before.JPG", "same photo"));
+        String second = imageStorageService.store(file("featured.jpg", "same photo"));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first).startsWith("/uploads/").endsWith(".jpg");
+        assertThat(Files.exists(pathOf(first))).isTrue();
+        assertThat(imageBlobRepository.findById(filenameOf(first)).orElseThrow().getRefCount()).isEqualTo(2);
+        assertThat(uploadDir.toFile().list((dir, name) -> name.endsWith(".tmp"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should store different content under different names")
+    void store_differentContent_storesTwoFiles() {
+        String first = imageStorageService.store(file("a.jpg", "photo a"));
+        String second = imageStorageService.store(file("b.jpg", "photo b"));
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(Files.exists(pathOf(first))).isTrue();
+        assertThat(Files.exists(pathOf(second))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should only delete the file when the last reference is deleted")
+    void delete_keepsFileUntilLastReference() throws Exception {
+        String url = imageStorageService.store(file("a.jpg", "shared photo"));
+        imageStorageService.store(file("b.jpg", "shared photo"));
+        Path derivative = pathOf(url).resolveSibling(ImageDerivativeService.derivativeUrl(filenameOf(url), 320));
+        Files.writeString(derivative, "derivative");
+
+        imageStorageService.delete(url);
+
+        assertThat(Files.exists(pathOf(url))).isTrue();
+        assertThat(Files.exists(derivative)).isTrue();
+        assertThat(imageBlobRepository.findById(filenameOf(url)).orElseThrow().getRefCount()).isEqualTo(1);
+
+        imageStorageService.delete(url);
+
+        assertThat(Files.exists(pathOf(url))).isFalse();
+        assertThat(Files.exists(derivative)).isFalse();
+        assertThat(imageBlobRepository.findById(filenameOf(url))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should lower the reference count in the caller's transaction, and keep it when that rolls back")
+    void deleteInCurrentTransaction_rollsBackWithCaller() {
+        String url = imageStorageService.store(file("a.jpg", "queued photo"));
+        imageStorageService.store(file("b.jpg", "queued photo"));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            imageStorageService.deleteInCurrentTransaction(url);
+            status.setRollbackOnly();
+        });
+        assertThat(imageBlobRepository.findById(filenameOf(url)).orElseThrow().getRefCount()).isEqualTo(2);
+
+        transaction.executeWithoutResult(status -> imageStorageService.deleteInCurrentTransaction(url));
+        assertThat(imageBlobRepository.findById(filenameOf(url)).orElseThrow().getRefCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> imageStorageService.deleteInCurrentTransaction(url))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should delete files that are not in the reference table right away")
+    void delete_legacyFile_deletesFile() throws Exception {
+        Path legacy = Files.writeString(uploadDir.resolve("legacy-uuid.jpg"), "old upload");
+
+        imageStorageService.delete("/uploads/legacy-uuid.jpg");
+
+        assertThat(Files.exists(legacy)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject deleting outside the upload directory")
+    void delete_outsideUploadDir_throwsSecurityException() {
+        assertThatThrownBy(() -> imageStorageService.delete("/uploads/.."))
+                .isInstanceOf(SecurityException.class);
+    }
+
+    private MockMultipartFile file(String filename, String content) {
+        return new MockMultipartFile("images", filename, "image/jpeg", content.getBytes());
+    }
+
+    private String filenameOf(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private Path pathOf(String url) {
+        return uploadDir.resolve(UploadLayout.relativePath(url));
+    }
+}
@@ -0,0 +1,139 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.dto.response.FeaturedImageResponse;
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
+import org.ek.portfoliobackend.model.*;
+import org.ek.portfoliobackend.repository.FeaturedImageRepository;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test for the featured image lookup table (one featured image per work type).
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Featured image Tests")
+class FeaturedImageIntegrationTest {
+
+    @Autowired
+    private FeaturedImageService featuredImageService;
+
+    @Autowired
+    private FeaturedImageRepository featuredImageRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // The in-memory copy outlives the rolled back test data, so drop it after every test
+    @AfterTransaction
+    void resetInMemoryCopy() {
+        eventPublisher.publishEvent(new PortfolioChangedEvent(null, true));
+    }
+
+    @Test
+    @DisplayName("Featuring an image should replace the featured image of the same work type only")
+    void feature_replacesFeaturedImageOfSameWorkType() {
+        Image first = createImage(WorkType.FACADE_CLEANING);
+        Image second = createImage(WorkType.FACADE_CLEANING);
+        Image roof = createImage(WorkType.ROOF_CLEANING);
+
+        featuredImageService.feature(first);
+        featuredImageService.feature(roof);
+        featuredImageService.feature(second);
+
+        assertThat(first.getIsFeatured()).isFalse();
+        assertThat(second.getIsFeatured()).isTrue();
+        assertThat(roof.getIsFeatured()).isTrue();
+        assertThat(featuredImageRepository.findById(WorkType.FACADE_CLEANING))
+                .hasValueSatisfying(featured -> assertThat(featured.getImage()).isEqualTo(second));
+    }
+
+    @Test
+    @DisplayName("Should return one featured image per work type")
+    void getFeaturedImages_returnsOnePerWorkType() {
+        Image facade = createImage(WorkType.FACADE_CLEANING);
+        Image roof = createImage(WorkType.ROOF_CLEANING);
+        featuredImageService.feature(facade);
+        featuredImageService.feature(roof);
+        featuredImageRepository.flush();
+
+        List<FeaturedImageResponse> featuredImages = featuredImageService.getFeaturedImages();
+
+        // PAVING_CLEANING is featured by the test data (image 2)
+        assertThat(featuredImages)
+                .extracting(FeaturedImageResponse::getWorkType)
+                .containsExactly(WorkType.PAVING_CLEANING, WorkType.ROOF_CLEANING, WorkType.FACADE_CLEANING);
+        assertThat(featuredImages.get(0).getImage().getId()).isEqualTo(2L);
+        assertThat(featuredImages.get(1).getImage().getId()).isEqualTo(roof.getId());
+        assertThat(featuredImages.get(2).getImage().getId()).isEqualTo(facade.getId());
+        assertThat(featuredImages.get(2).getProjectId()).isEqualTo(facade.getProject().getId());
+    }
+
+    @Test
+    @DisplayName("Unfeaturing and changing work type should release the work type")
+    void unfeatureAndWorkTypeChange_releaseWorkType() {
+        Image facade = createImage(WorkType.FACADE_CLEANING);
+        Image roof = createImage(WorkType.ROOF_CLEANING);
+        featuredImageService.feature(facade);
+        featuredImageService.feature(roof);
+
+        featuredImageService.unfeature(facade);
+
+        Project roofProject = roof.getProject();
+        roofProject.setWorkType(WorkType.PAVING_CLEANING);
+        featuredImageService.workTypeChanged(roofProject, WorkType.ROOF_CLEANING);
+
+        assertThat(facade.getIsFeatured()).isFalse();
+        assertThat(roof.getIsFeatured()).isFalse();
+        assertThat(featuredImageRepository.findById(WorkType.FACADE_CLEANING)).isEmpty();
+        assertThat(featuredImageRepository.findById(WorkType.ROOF_CLEANING)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Featuring an image of a project without work type should be rejected")
+    void feature_withoutWorkType_isRejected() {
+        Image image = createImage(null);
+
+        assertThatThrownBy(() -> featuredImageService.feature(image))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("service category");
+        assertThat(image.getIsFeatured()).isFalse();
+
+        featuredImageService.unfeature(image);
+        assertThat(image.getIsFeatured()).isFalse();
+    }
+
+    private Image createImage(WorkType workType) {
+        Project project = new Project();
+        project.setTitle("Featured test");
+        project.setDescription("Test description");
+        project.setExecutionDate(LocalDate.now());
+        project.setCreationDate(LocalDate.now());
+        project.setWorkType(workType);
+        project.setCustomerType(CustomerType.PRIVATE_CUSTOMER);
+        project = projectRepository.save(project);
+
+        return imageRepository.save(new Image(null, "/uploads/featured.jpg", ImageType.AFTER, false, project));
+    }
+}
@@ -0,0 +1,107 @@
+package org.ek.portfoliobackend.service;
+
+import jakarta.persistence.EntityManager;
+import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
+import org.ek.portfoliobackend.dto.request.ImageUploadRequest;
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.ek.portfoliobackend.model.CustomerType;
+import org.ek.portfoliobackend.model.ImageType;
+import org.ek.portfoliobackend.model.WorkType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test that guards the batched image inserts of createProject.
+ * The number of SQL statements must not grow with the number of images.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Image batch insert Tests")
+class ImageBatchInsertIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Should insert 20 images with about as many statements as 2 images")
+    void createProject_imageInsertsAreBatched() {
+        long fewImages = countStatements(2);
+        long manyImages = countStatements(20);
+
+        // Allow one extra id block from the id_generator table (select + update)
+        assertThat(manyImages).isLessThanOrEqualTo(fewImages + 2);
+    }
+
+    @Test
+    @DisplayName("Should keep the images in request order with generated ids")
+    void createProject_imagesHaveIdsInRequestOrder() {
+        ProjectResponse project = projectService.createProject(request(), files(4), metadata(4));
+        entityManager.flush();
+
+        assertThat(project.getImages()).hasSize(4);
+        assertThat(project.getImages()).allSatisfy(image -> assertThat(image.getId()).isNotNull());
+        assertThat(project.getImages().get(0).getImageType()).isEqualTo(ImageType.BEFORE);
+        assertThat(project.getImages().get(3).getImageType()).isEqualTo(ImageType.AFTER);
+    }
+
+    // Creates a project with the given number of images and returns the number of prepared statements
+    private long countStatements(int imageCount) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        projectService.createProject(request(), files(imageCount), metadata(imageCount));
+        entityManager.flush();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private CreateProjectRequest request() {
+        return new CreateProjectRequest("Batch project", "Test description", LocalDate.now(),
+                WorkType.PAVING_CLEANING, CustomerType.PRIVATE_CUSTOMER);
+    }
+
+    private List<MultipartFile> files(int count) {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(new MockMultipartFile("images", "image" + i + ".jpg", "image/jpeg", "content".getBytes()));
+        }
+        return files;
+    }
+
+    // First half BEFORE, second half AFTER, none featured
+    private List<ImageUploadRequest> metadata(int count) {
+        List<ImageUploadRequest> metadata = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            metadata.add(new ImageUploadRequest(i < count / 2 ? ImageType.BEFORE : ImageType.AFTER, false));
+        }
+        return metadata;
+    }
+}
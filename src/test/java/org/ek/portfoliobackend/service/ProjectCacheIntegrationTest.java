@@ -0,0 +1,112 @@
+package org.ek.portfoliobackend.service;
+
+import jakarta.persistence.EntityManager;
+import org.ek.portfoliobackend.config.CacheConfig;
+import org.ek.portfoliobackend.dto.request.UpdateProjectRequest;
+import org.ek.portfoliobackend.model.*;
+import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the project read cache.
+ * Not @Transactional on purpose: the cache is transaction aware and only applies puts and evictions after commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Project cache Tests")
+class ProjectCacheIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        clearCaches();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        project = new Project();
+        project.setTitle("Cached project");
+        project.setDescription("Test description");
+        project.setExecutionDate(LocalDate.of(2025, 1, 1));
+        project.setCreationDate(LocalDate.now());
+        project.setWorkType(WorkType.FACADE_CLEANING);
+        project.setCustomerType(CustomerType.PRIVATE_CUSTOMER);
+        project.addImage(new Image(null, "/uploads/cached.jpg", ImageType.BEFORE, false, null));
+        project = projectRepository.save(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteById(project.getId());
+        clearCaches();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated project lookup from the cache")
+    void getProjectById_secondCall_doesNotQueryDatabase() {
+        projectService.getProjectById(project.getId());
+
+        statistics.clear();
+        projectService.getProjectById(project.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECTS_CACHE).get(project.getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated listing from the cache, also for equivalent sort values")
+    void getProjectsByFilters_secondCall_doesNotQueryDatabase() {
+        projectService.getProjectsByFilters(WorkType.FACADE_CLEANING, null, null);
+
+        statistics.clear();
+        projectService.getProjectsByFilters(WorkType.FACADE_CLEANING, null, "desc");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the project and all lists after an update is committed")
+    void updateProject_evictsProjectAndLists() {
+        projectService.getProjectById(project.getId());
+        projectService.getProjectsByFilters(null, null, null);
+
+        UpdateProjectRequest request = new UpdateProjectRequest();
+        request.setTitle("Updated title");
+        projectService.updateProject(project.getId(), request);
+
+        assertThat(projectService.getProjectById(project.getId()).getTitle()).isEqualTo("Updated title");
+        assertThat(projectService.getProjectsByFilters(null, null, null))
+                .anyMatch(response -> response.getTitle().equals("Updated title"));
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+}
@@ -0,0 +1,152 @@
+package org.ek.portfoliobackend.service;
+
+import org.ek.portfoliobackend.dto.response.ProjectPageResponse;
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.ek.portfoliobackend.model.*;
+import org.ek.portfoliobackend.repository.FeaturedImageRepository;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the paged project listing (page number and keyset cursor).
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Project pagination Tests")
+class ProjectPaginationIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private FeaturedImageRepository featuredImageRepository;
+
+    @BeforeEach
+    void setUp() {
+        featuredImageRepository.deleteAll();
+        imageRepository.deleteAll();
+        projectRepository.deleteAll();
+
+        // Two projects share the same execution date to exercise the id tie-breaker
+        createProject("Newest", LocalDate.of(2025, 5, 1), WorkType.ROOF_CLEANING);
+        createProject("Same day A", LocalDate.of(2025, 4, 1), WorkType.FACADE_CLEANING);
+        createProject("Same day B", LocalDate.of(2025, 4, 1), WorkType.ROOF_CLEANING);
+        createProject("Older", LocalDate.of(2025, 3, 1), WorkType.FACADE_CLEANING);
+        createProject("Oldest", LocalDate.of(2025, 2, 1), WorkType.ROOF_CLEANING);
+    }
+
+    @Test
+    @DisplayName("Should walk all projects newest first with the cursor, without gaps or duplicates")
+    void getProjectPage_withCursor_returnsAllProjectsInOrder() {
+        List<String> titles = collectTitles(null, "desc");
+
+        assertThat(titles).hasSize(5);
+        assertThat(titles).doesNotHaveDuplicates();
+        assertThat(titles.get(0)).isEqualTo("Newest");
+        assertThat(titles.get(4)).isEqualTo("Oldest");
+    }
+
+    @Test
+    @DisplayName("Should walk all projects oldest first with the cursor")
+    void getProjectPage_withCursorAscending_returnsAllProjectsInOrder() {
+        List<String> titles = collectTitles(null, "asc");
+
+        assertThat(titles).hasSize(5);
+        assertThat(titles.get(0)).isEqualTo("Oldest");
+        assertThat(titles.get(4)).isEqualTo("Newest");
+    }
+
+    @Test
+    @DisplayName("Should walk past projects without execution date: last newest first, first oldest first")
+    void getProjectPage_withUndatedProjects_returnsAllProjectsInOrder() {
+        createProject("Undated A", null, WorkType.ROOF_CLEANING);
+        createProject("Undated B", null, WorkType.FACADE_CLEANING);
+        createProject("Undated C", null, WorkType.ROOF_CLEANING);
+
+        List<String> newestFirst = collectTitles(null, "desc");
+        List<String> oldestFirst = collectTitles(null, "asc");
+
+        assertThat(newestFirst).hasSize(8).doesNotHaveDuplicates();
+        assertThat(newestFirst.subList(4, 8)).containsExactly("Oldest", "Undated C", "Undated B", "Undated A");
+        assertThat(oldestFirst).hasSize(8).doesNotHaveDuplicates();
+        assertThat(oldestFirst.subList(0, 4)).containsExactly("Undated A", "Undated B", "Undated C", "Oldest");
+    }
+
+    @Test
+    @DisplayName("Should apply the work type filter to every page")
+    void getProjectPage_withWorkType_returnsOnlyMatchingProjects() {
+        List<String> titles = collectTitles(WorkType.ROOF_CLEANING, "desc");
+
+        assertThat(titles).containsExactly("Newest", "Same day B", "Oldest");
+    }
+
+    @Test
+    @DisplayName("Should return the requested page number when no cursor is given")
+    void getProjectPage_withPageNumber_returnsOffsetPage() {
+        ProjectPageResponse page = projectService.getProjectPage(null, null, "desc", 2, 2, null);
+
+        assertThat(page.getItems()).extracting(ProjectResponse::getTitle).containsExactly("Oldest");
+        assertThat(page.getHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid cursor")
+    void getProjectPage_withInvalidCursor_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> projectService.getProjectPage(null, null, "desc", 0, 2, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Should reject a page size above the maximum")
+    void getProjectPage_withTooLargeSize_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> projectService.getProjectPage(null, null, "desc", 0, 1000, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Follows nextCursor with a page size of 2 until the last page
+    private List<String> collectTitles(WorkType workType, String sortDirection) {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProjectPageResponse page = projectService.getProjectPage(workType, null, sortDirection, 0, 2, cursor);
+            page.getItems().forEach(project -> titles.add(project.getTitle()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return titles;
+    }
+
+    private void createProject(String title, LocalDate executionDate, WorkType workType) {
+        Project project = new Project();
+        project.setTitle(title);
+        project.setDescription("Test description");
+        project.setExecutionDate(executionDate);
+        project.setCreationDate(LocalDate.now());
+        project.setWorkType(workType);
+        project.setCustomerType(CustomerType.PRIVATE_CUSTOMER);
+        project.addImage(new Image(null, "/uploads/" + title + ".jpg", ImageType.BEFORE, false, null));
+        projectRepository.save(project);
+    }
+}
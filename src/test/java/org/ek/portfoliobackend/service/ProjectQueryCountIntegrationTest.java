@@ -0,0 +1,133 @@
+package org.ek.portfoliobackend.service;
+
+import jakarta.persistence.EntityManager;
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.ek.portfoliobackend.model.*;
+import org.ek.portfoliobackend.repository.FeaturedImageRepository;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test that guards the public project listing against N+1 queries.
+ * The number of SQL statements must stay the same no matter how many projects (and images) exist.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Project listing query count Tests")
+class ProjectQueryCountIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private FeaturedImageRepository featuredImageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        featuredImageRepository.deleteAll();
+        imageRepository.deleteAll();
+        projectRepository.deleteAll();
+
+        // The listing is cached; start cold so every call reaches the database
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Should use the same number of statements for 2 and 12 projects")
+    void getProjectsByFilters_statementCountIsConstant() {
+        createProjects(2, WorkType.FACADE_CLEANING);
+        long fewProjects = countStatements(null);
+
+        createProjects(10, WorkType.FACADE_CLEANING);
+        long manyProjects = countStatements(null);
+
+        assertThat(manyProjects).isEqualTo(fewProjects);
+        assertThat(manyProjects).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should use the same number of statements when filtering by work type")
+    void getProjectsByFilters_withWorkType_statementCountIsConstant() {
+        createProjects(2, WorkType.ROOF_CLEANING);
+        long fewProjects = countStatements(WorkType.ROOF_CLEANING);
+
+        createProjects(10, WorkType.ROOF_CLEANING);
+        long manyProjects = countStatements(WorkType.ROOF_CLEANING);
+
+        assertThat(manyProjects).isEqualTo(fewProjects);
+    }
+
+    @Test
+    @DisplayName("Should return every project once with all of its images")
+    void getProjectsByFilters_returnsProjectsWithImages() {
+        createProjects(3, WorkType.PAVING_CLEANING);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ProjectResponse> projects = projectService.getProjectsByFilters(null, null, "desc");
+
+        assertThat(projects).hasSize(3);
+        assertThat(projects).allSatisfy(project -> assertThat(project.getImages()).hasSize(2));
+    }
+
+    // Runs the listing against an empty persistence context and returns the number of prepared statements
+    private long countStatements(WorkType workType) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        projectService.getProjectsByFilters(workType, null, "desc");
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createProjects(int count, WorkType workType) {
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setTitle("Project " + i);
+            project.setDescription("Test description");
+            project.setExecutionDate(LocalDate.now().minusDays(i));
+            project.setCreationDate(LocalDate.now());
+            project.setWorkType(workType);
+            project.setCustomerType(CustomerType.PRIVATE_CUSTOMER);
+
+            project.addImage(new Image(null, "/uploads/before" + i + ".jpg", ImageType.BEFORE, false, null));
+            project.addImage(new Image(null, "/uploads/after" + i + ".jpg", ImageType.AFTER, false, null));
+
+            projectRepository.save(project);
+        }
+    }
+}
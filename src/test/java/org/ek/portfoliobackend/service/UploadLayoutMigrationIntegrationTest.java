@@ -0,0 +1,149 @@
+package org.ek.portfoliobackend.service;
+
+import jakarta.persistence.EntityManager;
+import org.ek.portfoliobackend.model.*;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.repository.PendingFileDeletionRepository;
+import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.ek.portfoliobackend.service.impl.UploadLayoutMigration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the one-time migration from the flat upload folder to the sharded layout.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Upload layout migration Tests")
+class UploadLayoutMigrationIntegrationTest {
+
+    @Autowired
+    private UploadLayoutMigration migration;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private PendingFileDeletionRepository pendingFileDeletionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    private Path uploadPath;
+    private String filename;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadPath = Files.createDirectories(Paths.get(uploadDir).toAbsolutePath().normalize());
+        filename = UUID.randomUUID() + ".jpg";
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Path sharded = uploadPath.resolve(UploadLayout.shardedPath(filename));
+        String derivative = ImageDerivativeService.derivativeUrl(filename, 320);
+        Files.deleteIfExists(uploadPath.resolve(filename));
+        Files.deleteIfExists(uploadPath.resolve(derivative));
+        Files.deleteIfExists(sharded);
+        Files.deleteIfExists(sharded.resolveSibling(derivative));
+    }
+
+    @Test
+    @DisplayName("Should move flat uploads and their derivatives into shard directories and update the URLs")
+    void migrate_movesFlatFilesAndUpdatesUrls() throws Exception {
+        Files.writeString(uploadPath.resolve(filename), "original");
+        String derivative = ImageDerivativeService.derivativeUrl(filename, 320);
+        Files.writeString(uploadPath.resolve(derivative), "derivative");
+        Long imageId = createImage("/uploads/" + filename);
+
+        migration.migrate();
+
+        String shardedPath = UploadLayout.shardedPath(filename);
+        assertThat(Files.exists(uploadPath.resolve(filename))).isFalse();
+        assertThat(Files.readString(uploadPath.resolve(shardedPath))).isEqualTo("original");
+        assertThat(Files.exists(uploadPath.resolve(shardedPath).resolveSibling(derivative))).isTrue();
+        assertThat(urlOf(imageId)).isEqualTo("/uploads/" + shardedPath);
+    }
+
+    @Test
+    @DisplayName("Should also point queued deletions of a moved file to its new URL")
+    void migrate_updatesQueuedDeletions() throws Exception {
+        Files.writeString(uploadPath.resolve(filename), "original");
+        Long imageId = createImage("/uploads/" + filename);
+        Long deletionId = pendingFileDeletionRepository.saveAndFlush(
+                new PendingFileDeletion("/uploads/" + filename, Instant.now())).getId();
+
+        migration.migrate();
+
+        String shardedUrl = "/uploads/" + UploadLayout.shardedPath(filename);
+        assertThat(urlOf(imageId)).isEqualTo(shardedUrl);
+        assertThat(pendingFileDeletionRepository.findById(deletionId).orElseThrow().getUrl()).isEqualTo(shardedUrl);
+    }
+
+    @Test
+    @DisplayName("Should only update the URL when the file was already moved")
+    void migrate_fileAlreadyMoved_updatesUrl() throws Exception {
+        String shardedPath = UploadLayout.shardedPath(filename);
+        Files.createDirectories(uploadPath.resolve(shardedPath).getParent());
+        Files.writeString(uploadPath.resolve(shardedPath), "original");
+        Long imageId = createImage("/uploads/" + filename);
+
+        UploadLayoutMigration.Result result = migration.migrate();
+
+        assertThat(result.alreadySharded()).isGreaterThanOrEqualTo(1);
+        assertThat(urlOf(imageId)).isEqualTo("/uploads/" + shardedPath);
+    }
+
+    @Test
+    @DisplayName("Should leave URLs of missing files unchanged")
+    void migrate_missingFile_keepsUrl() {
+        Long imageId = createImage("/uploads/" + filename);
+
+        migration.migrate();
+
+        assertThat(urlOf(imageId)).isEqualTo("/uploads/" + filename);
+    }
+
+    private Long createImage(String url) {
+        Project project = new Project();
+        project.setTitle("Migration project");
+        project.setDescription("Test description");
+        project.setExecutionDate(LocalDate.now());
+        project.setCreationDate(LocalDate.now());
+        project.setWorkType(WorkType.FACADE_CLEANING);
+        project.setCustomerType(CustomerType.PRIVATE_CUSTOMER);
+        Image image = new Image(null, url, ImageType.BEFORE, false, null);
+        project.addImage(image);
+        projectRepository.save(project);
+        entityManager.flush();
+        return image.getId();
+    }
+
+    private String urlOf(Long imageId) {
+        entityManager.clear();
+        return imageRepository.findById(imageId).orElseThrow().getUrl();
+    }
+}
@@ -0,0 +1,175 @@
+package org.ek.portfoliobackend.service.impl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.ek.portfoliobackend.dto.response.LoginResponse;
+import org.ek.portfoliobackend.repository.DeniedTokenRepository;
+import org.ek.portfoliobackend.security.JwtTokenGenerator;
+import org.ek.portfoliobackend.security.TokenDenyList;
+import org.ek.portfoliobackend.security.TokenVersionCache;
+import org.ek.portfoliobackend.security.UserTokenVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private JwtTokenGenerator jwtTokenGenerator;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private DeniedTokenRepository deniedTokenRepository;
+
+    private TokenDenyList tokenDenyList;
+    private AuthServiceImpl authService;
+
+    private final UserDetails admin = User.withUsername("admin").password("hash").roles("ADMIN").build();
+
+    @BeforeEach
+    void setUp() {
+        tokenDenyList = new TokenDenyList(deniedTokenRepository, 100);
+        authService = new AuthServiceImpl(authenticationManager, jwtTokenGenerator, tokenVersionCache,
+                tokenDenyList, userDetailsService);
+    }
+
+    @Test
+    @DisplayName("refresh - issues a new pair and the refresh token can not be used again")
+    void refresh_rotatesRefreshToken() {
+        when(jwtTokenGenerator.extractAllClaims("refresh-1")).thenReturn(claims("jti-1", JwtTokenGenerator.REFRESH_TOKEN, 2));
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 2)));
+        when(jwtTokenGenerator.generateToken(admin, new UserTokenVersion(1L, 2))).thenReturn("access-2");
+        when(jwtTokenGenerator.generateRefreshToken(admin, new UserTokenVersion(1L, 2))).thenReturn("refresh-2");
+        when(jwtTokenGenerator.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+
+        LoginResponse response = authService.refresh("refresh-1");
+
+        assertThat(response.getToken()).isEqualTo("access-2");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-2");
+        assertThat(response.getExpiresIn()).isEqualTo(900);
+        assertThat(tokenDenyList.isDenied("jti-1")).isTrue();
+        verify(deniedTokenRepository).insert(eq("jti-1"), any());
+        assertThatThrownBy(() -> authService.refresh("refresh-1"))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("refresh - rejects a refresh token that was already used on another instance or before a restart")
+    void refresh_rejectsTokenRevokedElsewhere() {
+        when(jwtTokenGenerator.extractAllClaims("refresh-1")).thenReturn(claims("jti-1", JwtTokenGenerator.REFRESH_TOKEN, 2));
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 2)));
+        when(deniedTokenRepository.insert(eq("jti-1"), any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThatThrownBy(() -> authService.refresh("refresh-1")).isInstanceOf(BadCredentialsException.class);
+
+        verify(jwtTokenGenerator, never()).generateRefreshToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("refresh - rejects access tokens, invalid tokens and tokens of an older token version")
+    void refresh_rejectsInvalidTokens() {
+        when(jwtTokenGenerator.extractAllClaims("access-1")).thenReturn(claims("jti-1", JwtTokenGenerator.ACCESS_TOKEN, 0));
+        when(jwtTokenGenerator.extractAllClaims("garbage")).thenThrow(new MalformedJwtException("bad"));
+        when(jwtTokenGenerator.extractAllClaims("old-refresh")).thenReturn(claims("jti-2", JwtTokenGenerator.REFRESH_TOKEN, 0));
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 1)));
+
+        assertThatThrownBy(() -> authService.refresh("access-1")).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> authService.refresh("garbage")).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> authService.refresh("old-refresh")).isInstanceOf(BadCredentialsException.class);
+
+        verify(jwtTokenGenerator, never()).generateRefreshToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("refresh - can be retried when revoking the used token failed")
+    void refresh_canBeRetriedAfterFailedRevocation() {
+        when(jwtTokenGenerator.extractAllClaims("refresh-1")).thenReturn(claims("jti-1", JwtTokenGenerator.REFRESH_TOKEN, 2));
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 2)));
+        when(deniedTokenRepository.insert(eq("jti-1"), any()))
+                .thenThrow(new CannotCreateTransactionException("database unavailable"))
+                .thenReturn(1);
+        when(jwtTokenGenerator.generateToken(admin, new UserTokenVersion(1L, 2))).thenReturn("access-2");
+        when(jwtTokenGenerator.generateRefreshToken(admin, new UserTokenVersion(1L, 2))).thenReturn("refresh-2");
+        when(jwtTokenGenerator.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+
+        assertThatThrownBy(() -> authService.refresh("refresh-1")).isInstanceOf(CannotCreateTransactionException.class);
+        assertThat(tokenDenyList.isDenied("jti-1")).isFalse();
+
+        assertThat(authService.refresh("refresh-1").getRefreshToken()).isEqualTo("refresh-2");
+        assertThat(tokenDenyList.isDenied("jti-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("refresh - rejects a token of a previous owner of the username (user deleted and recreated)")
+    void refresh_rejectsTokenOfAnotherUserWithSameUsername() {
+        when(jwtTokenGenerator.extractAllClaims("refresh-1")).thenReturn(claims("jti-1", JwtTokenGenerator.REFRESH_TOKEN, 0, 7L));
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        when(tokenVersionCache.currentVersion("admin")).thenReturn(Optional.of(new UserTokenVersion(1L, 0)));
+
+        assertThatThrownBy(() -> authService.refresh("refresh-1")).isInstanceOf(BadCredentialsException.class);
+
+        verify(jwtTokenGenerator, never()).generateRefreshToken(any(), any());
+        assertThat(tokenDenyList.isDenied("jti-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("logout - revokes both tokens and ignores invalid ones")
+    void logout_deniesTokens() {
+        when(jwtTokenGenerator.extractAllClaims("access-1")).thenReturn(claims("jti-1", JwtTokenGenerator.ACCESS_TOKEN, 0));
+        when(jwtTokenGenerator.extractAllClaims("garbage")).thenThrow(new MalformedJwtException("bad"));
+
+        authService.logout("access-1", "garbage");
+        authService.logout(null, null);
+
+        assertThat(tokenDenyList.isDenied("jti-1")).isTrue();
+    }
+
+    // --- Helpers ---
+
+    private Claims claims(String jti, String type, int tokenVersion) {
+        return claims(jti, type, tokenVersion, 1L);
+    }
+
+    private Claims claims(String jti, String type, int tokenVersion, long userId) {
+        Claims claims = Jwts.claims()
+                .setId(jti)
+                .setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        claims.put(JwtTokenGenerator.TOKEN_TYPE_CLAIM, type);
+        claims.put(JwtTokenGenerator.TOKEN_VERSION_CLAIM, tokenVersion);
+        claims.put(JwtTokenGenerator.USER_ID_CLAIM, userId);
+        return claims;
+    }
+}
@@ -0,0 +1,151 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.dto.response.PendingFileDeletionResponse;
+import org.ek.portfoliobackend.event.FilesQueuedForDeletionEvent;
+import org.ek.portfoliobackend.model.PendingFileDeletion;
+import org.ek.portfoliobackend.repository.PendingFileDeletionRepository;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileDeletionServiceImplTest {
+
+    @Mock
+    private PendingFileDeletionRepository pendingFileDeletionRepository;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FileDeletionServiceImpl fileDeletionService;
+
+    @BeforeEach
+    void setUp() {
+        fileDeletionService = new FileDeletionServiceImpl(pendingFileDeletionRepository, imageStorageService,
+                eventPublisher, transactionManager, 2, true);
+    }
+
+    @Test
+    @DisplayName("enqueue - saves one row per URL and announces them")
+    @SuppressWarnings("unchecked")
+    void enqueue_savesRowsAndPublishesEvent() {
+        fileDeletionService.enqueue(Arrays.asList("/uploads/a.jpg", null, " ", "/uploads/b.jpg"));
+
+        ArgumentCaptor<List<PendingFileDeletion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pendingFileDeletionRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(PendingFileDeletion::getUrl)
+                .containsExactly("/uploads/a.jpg", "/uploads/b.jpg");
+        verify(eventPublisher).publishEvent(new FilesQueuedForDeletionEvent(2));
+        verifyNoInteractions(imageStorageService);
+    }
+
+    @Test
+    @DisplayName("enqueue - nothing to queue")
+    void enqueue_withoutUrls_doesNothing() {
+        fileDeletionService.enqueue(Arrays.asList(null, ""));
+
+        verifyNoInteractions(pendingFileDeletionRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("processDueDeletions - deletes each claimed file in the transaction that removes its row, reschedules failures")
+    void processDueDeletions_deletesAndReschedules() {
+        PendingFileDeletion ok = deletion(1L, "/uploads/ok.jpg");
+        PendingFileDeletion failing = deletion(2L, "/uploads/failing.jpg");
+        PendingFileDeletion next = deletion(3L, "/uploads/next.jpg");
+        when(pendingFileDeletionRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(ok, failing))
+                .thenReturn(List.of(next));
+        when(pendingFileDeletionRepository.claimById(1L)).thenReturn(Optional.of(ok));
+        when(pendingFileDeletionRepository.claimById(2L)).thenReturn(Optional.of(failing));
+        when(pendingFileDeletionRepository.claimById(3L)).thenReturn(Optional.of(next));
+        doThrow(new RuntimeException("disk error")).when(imageStorageService).deleteInCurrentTransaction("/uploads/failing.jpg");
+
+        int deleted = fileDeletionService.processDueDeletions();
+
+        assertThat(deleted).isEqualTo(2);
+        verify(pendingFileDeletionRepository).delete(ok);
+        verify(pendingFileDeletionRepository).delete(next);
+        verify(pendingFileDeletionRepository, never()).delete(failing);
+        verify(pendingFileDeletionRepository).reschedule(eq(2L), eq(1), any(Instant.class), contains("disk error"));
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(imageStorageService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("processDueDeletions - skips rows held by another worker and stops instead of reading them again")
+    void processDueDeletions_skipsClaimedRows() {
+        PendingFileDeletion first = deletion(1L, "/uploads/a.jpg");
+        PendingFileDeletion second = deletion(2L, "/uploads/b.jpg");
+        when(pendingFileDeletionRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(pendingFileDeletionRepository.claimById(anyLong())).thenReturn(Optional.empty());
+
+        int deleted = fileDeletionService.processDueDeletions();
+
+        assertThat(deleted).isZero();
+        verifyNoInteractions(imageStorageService);
+        verify(pendingFileDeletionRepository, times(1))
+                .findByNextAttemptAtLessThanEqualOrderByIdAsc(any(Instant.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("retryAll - makes every row due and processes the queue")
+    void retryAll_reschedulesAndProcesses() {
+        when(pendingFileDeletionRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        int deleted = fileDeletionService.retryAll();
+
+        assertThat(deleted).isZero();
+        verify(pendingFileDeletionRepository).rescheduleAll(any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("getPendingDeletions - reads at most one batch, oldest first")
+    void getPendingDeletions_isCappedAtBatchSize() {
+        when(pendingFileDeletionRepository.findAllByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(deletion(1L, "/uploads/a.jpg"), deletion(2L, "/uploads/b.jpg")));
+
+        assertThat(fileDeletionService.getPendingDeletions())
+                .extracting(PendingFileDeletionResponse::getUrl)
+                .containsExactly("/uploads/a.jpg", "/uploads/b.jpg");
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(pendingFileDeletionRepository).findAllByOrderByIdAsc(captor.capture());
+        assertThat(captor.getValue().getPageNumber()).isZero();
+        assertThat(captor.getValue().getPageSize()).isEqualTo(2);
+    }
+
+    private PendingFileDeletion deletion(Long id, String url) {
+        PendingFileDeletion deletion = new PendingFileDeletion(url, Instant.now().minusSeconds(60));
+        deletion.setId(id);
+        return deletion;
+    }
+}
@@ -0,0 +1,155 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.event.ImagesStoredEvent;
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImageDerivativeServiceImpl to verify the generated derivative files.
+ */
+class ImageDerivativeServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageDerivativeServiceImpl derivativeService;
+    private ImageRepository imageRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        imageRepository = mock(ImageRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        derivativeService = new ImageDerivativeServiceImpl(tempDir.toString(), imageRepository,
+                mock(CacheManager.class), eventPublisher, true, 0.8f);
+    }
+
+    @Test
+    void generateDerivatives_ShouldWriteEveryWidthWithoutUpscaling() throws IOException {
+        // Arrange
+        writePng("photo.png", 1000, 500);
+
+        // Act
+        Integer originalWidth = derivativeService.generateDerivatives("/uploads/photo.png");
+
+        // Assert
+        assertEquals(1000, originalWidth);
+        assertEquals(320, readWidth("photo-320w.jpg"));
+        assertEquals(160, ImageIO.read(tempDir.resolve("photo-320w.jpg").toFile()).getHeight());
+        assertEquals(800, readWidth("photo-800w.jpg"));
+        assertEquals(1000, readWidth("photo-1600w.jpg"));
+    }
+
+    @Test
+    void generateDerivatives_WithLargeShardedOriginal_ShouldDecodeSubsampledAndWriteNextToIt() throws IOException {
+        // Arrange
+        Files.createDirectories(tempDir.resolve("ab/cd"));
+        writePng("ab/cd/large.png", 7000, 70);
+
+        // Act
+        Integer originalWidth = derivativeService.generateDerivatives("/uploads/ab/cd/large.png");
+
+        // Assert
+        assertEquals(7000, originalWidth);
+        assertEquals(320, readWidth("ab/cd/large-320w.jpg"));
+        assertEquals(1600, readWidth("ab/cd/large-1600w.jpg"));
+        try (Stream<Path> root = Files.list(tempDir); Stream<Path> shard = Files.list(tempDir.resolve("ab/cd"))) {
+            assertEquals(List.of("ab"), root.map(path -> path.getFileName().toString()).toList());
+            assertEquals(4, shard.count());
+        }
+    }
+
+    @Test
+    void generateDerivatives_WithUnreadableFile_ShouldSkip() throws IOException {
+        // Arrange
+        Files.writeString(tempDir.resolve("notes.jpg"), "not an image");
+
+        // Act
+        Integer originalWidth = derivativeService.generateDerivatives("/uploads/notes.jpg");
+
+        // Assert
+        assertNull(originalWidth);
+        assertFalse(Files.exists(tempDir.resolve("notes-320w.jpg")));
+    }
+
+    @Test
+    void onImagesStored_ShouldRecordTheWidthOnlyForGeneratedDerivatives() throws IOException {
+        // Arrange
+        writePng("photo.png", 600, 400);
+        Files.writeString(tempDir.resolve("notes.jpg"), "not an image");
+        when(imageRepository.updateOriginalWidth("/uploads/photo.png", 600)).thenReturn(1);
+
+        // Act
+        derivativeService.onImagesStored(new ImagesStoredEvent(List.of("/uploads/photo.png", "/uploads/notes.jpg")));
+
+        // Assert
+        verify(imageRepository).updateOriginalWidth("/uploads/photo.png", 600);
+        verify(imageRepository, never()).updateOriginalWidth(eq("/uploads/notes.jpg"), anyInt());
+        verify(eventPublisher).publishEvent(new PortfolioChangedEvent(null, true));
+    }
+
+    @Test
+    void onImagesStored_WhenDisabled_ShouldRecordNothing() throws IOException {
+        // Arrange
+        writePng("photo.png", 600, 400);
+        ImageDerivativeServiceImpl disabled = new ImageDerivativeServiceImpl(tempDir.toString(), imageRepository,
+                mock(CacheManager.class), eventPublisher, false, 0.8f);
+
+        // Act
+        disabled.onImagesStored(new ImagesStoredEvent(List.of("/uploads/photo.png")));
+
+        // Assert
+        assertFalse(Files.exists(tempDir.resolve("photo-320w.jpg")));
+        verify(imageRepository, never()).updateOriginalWidth(anyString(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void generateDerivatives_WithExternalUrl_ShouldDoNothing() {
+        // Act & Assert
+        assertDoesNotThrow(() -> derivativeService.generateDerivatives("https://example.com/photo.jpg"));
+    }
+
+    @Test
+    void delete_ShouldAlsoDeleteDerivatives() throws IOException {
+        // Arrange
+        writePng("photo.png", 400, 300);
+        derivativeService.generateDerivatives("/uploads/photo.png");
+        LocalFileStorageServiceImpl storageService = new LocalFileStorageServiceImpl(tempDir.toString(), "");
+
+        // Act
+        storageService.delete("/uploads/photo.png");
+
+        // Assert
+        assertFalse(Files.exists(tempDir.resolve("photo.png")));
+        assertFalse(Files.exists(tempDir.resolve("photo-320w.jpg")));
+        assertFalse(Files.exists(tempDir.resolve("photo-1600w.jpg")));
+    }
+
+    private void writePng(String filename, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ImageIO.write(image, "png", tempDir.resolve(filename).toFile());
+    }
+
+    private int readWidth(String filename) throws IOException {
+        return ImageIO.read(tempDir.resolve(filename).toFile()).getWidth();
+    }
+}
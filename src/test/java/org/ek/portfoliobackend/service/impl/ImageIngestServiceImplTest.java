@@ -0,0 +1,118 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ImageIngestServiceImpl to verify ordering, the concurrency bound and cleanup on failure.
+ */
+class ImageIngestServiceImplTest {
+
+    private FakeStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FakeStorage();
+    }
+
+    @Test
+    void storeAll_ShouldReturnUrlsInFileOrder() {
+        // Arrange
+        ImageIngestServiceImpl ingestService = new ImageIngestServiceImpl(storage, 4);
+        List<MultipartFile> files = files(10);
+
+        // Act
+        List<String> urls = ingestService.storeAll(files);
+
+        // Assert
+        assertEquals(10, urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            assertEquals("/uploads/image" + i + ".jpg", urls.get(i));
+        }
+    }
+
+    @Test
+    void storeAll_ShouldNotExceedConfiguredConcurrency() {
+        // Arrange
+        ImageIngestServiceImpl ingestService = new ImageIngestServiceImpl(storage, 2);
+
+        // Act
+        ingestService.storeAll(files(8));
+
+        // Assert
+        assertTrue(storage.maxConcurrent.get() <= 2);
+    }
+
+    @Test
+    void storeAll_WhenOneFileFails_ShouldDeleteStoredFilesAndThrow() {
+        // Arrange
+        ImageIngestServiceImpl ingestService = new ImageIngestServiceImpl(storage, 4);
+        storage.failOn = "image3.jpg";
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> ingestService.storeAll(files(6)));
+
+        assertEquals("Storage failure for image3.jpg", exception.getMessage());
+        assertEquals(storage.stored, storage.deleted);
+    }
+
+    @Test
+    void constructor_WithZeroConcurrency_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ImageIngestServiceImpl(storage, 0));
+    }
+
+    private List<MultipartFile> files(int count) {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(new MockMultipartFile("images", "image" + i + ".jpg", "image/jpeg", "content".getBytes()));
+        }
+        return files;
+    }
+
+    // Storage that records what is stored/deleted and how many stores run at the same time
+    private static class FakeStorage implements ImageStorageService {
+
+        private final Set<String> stored = ConcurrentHashMap.newKeySet();
+        private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private volatile String failOn;
+
+        @Override
+        public String store(MultipartFile file) {
+            int running = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(running, Math::max);
+            try {
+                Thread.sleep(10);
+                if (file.getOriginalFilename().equals(failOn)) {
+                    throw new RuntimeException("Storage failure for " + failOn);
+                }
+                String url = "/uploads/" + file.getOriginalFilename();
+                stored.add(url);
+                return url;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void delete(String url) {
+            deleted.add(url);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.ek.portfoliobackend.service.impl;
 
+import org.ek.portfoliobackend.service.UploadLayout;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,7 +54,7 @@ class LocalFileStorageServiceImplTest {
         assertTrue(url.endsWith(".jpg"));
 
         // Verify file exists on filesystem
-        String filename = url.substring(url.lastIndexOf("/") + 1);
+        String filename = url.substring("/uploads/".length());
         Path storedFile = tempDir.resolve(filename);
         assertTrue(Files.exists(storedFile));
 
@@ -99,7 +100,7 @@ class LocalFileStorageServiceImplTest {
         assertTrue(url.startsWith("/uploads/"));
 
         // Verify file exists
-        String filename = url.substring(url.lastIndexOf("/") + 1);
+        String filename = url.substring("/uploads/".length());
         Path storedFile = tempDir.resolve(filename);
         assertTrue(Files.exists(storedFile));
     }
@@ -126,7 +127,7 @@ class LocalFileStorageServiceImplTest {
                     "URL should preserve extension " + extension);
 
             // Cleanup for next iteration
-            String filename = url.substring(url.lastIndexOf("/") + 1);
+            String filename = url.substring("/uploads/".length());
             Files.deleteIfExists(tempDir.resolve(filename));
         }
     }
@@ -145,8 +146,8 @@ class LocalFileStorageServiceImplTest {
         assertNotEquals(url1, url2, "Should generate unique filenames");
 
         // Verify both files exist
-        String filename1 = url1.substring(url1.lastIndexOf("/") + 1);
-        String filename2 = url2.substring(url2.lastIndexOf("/") + 1);
+        String filename1 = url1.substring("/uploads/".length());
+        String filename2 = url2.substring("/uploads/".length());
         assertTrue(Files.exists(tempDir.resolve(filename1)));
         assertTrue(Files.exists(tempDir.resolve(filename2)));
     }
@@ -157,7 +158,7 @@ class LocalFileStorageServiceImplTest {
         MultipartFile file = new MockMultipartFile("test", "test.jpg", "image/jpeg", "test content".getBytes());
         String url = storageService.store(file);
 
-        String filename = url.substring(url.lastIndexOf("/") + 1);
+        String filename = url.substring("/uploads/".length());
         Path storedFile = tempDir.resolve(filename);
         assertTrue(Files.exists(storedFile), "File should exist before deletion");
 
@@ -230,7 +231,7 @@ class LocalFileStorageServiceImplTest {
 
         // Assert
         assertNotNull(url);
-        String filename = url.substring(url.lastIndexOf("/") + 1);
+        String filename = url.substring("/uploads/".length());
         Path storedFile = tempDir.resolve(filename);
         assertTrue(Files.exists(storedFile));
 
@@ -258,7 +259,7 @@ class LocalFileStorageServiceImplTest {
         assertTrue(url.endsWith(".jpg"));
 
         // UUID-based filename should handle special characters automatically
-        String filename = url.substring(url.lastIndexOf("/") + 1);
+        String filename = url.substring("/uploads/".length());
         Path storedFile = tempDir.resolve(filename);
         assertTrue(Files.exists(storedFile));
     }
@@ -288,7 +289,7 @@ class LocalFileStorageServiceImplTest {
             }
 
             // Verify each file exists
-            String filename = urls[i].substring(urls[i].lastIndexOf("/") + 1);
+            String filename = urls[i].substring("/uploads/".length());
             assertTrue(Files.exists(tempDir.resolve(filename)));
         }
     }
@@ -305,7 +306,7 @@ class LocalFileStorageServiceImplTest {
 
         // Act - Store
         String url = storageService.store(file);
-        String filename = url.substring(url.lastIndexOf("/") + 1);
+        String filename = url.substring("/uploads/".length());
         Path storedFile = tempDir.resolve(filename);
 
         // Assert - File exists after store
@@ -318,4 +319,37 @@ class LocalFileStorageServiceImplTest {
         // Assert - File removed after delete
         assertFalse(Files.exists(storedFile));
     }
-}
\ No newline at end of file
+
+    @Test
+    void store_ShouldPlaceFileInShardDirectory() {
+        // Arrange
+        MultipartFile file = new MockMultipartFile("test", "test.jpg", "image/jpeg", "content".getBytes());
+
+        // Act
+        String url = storageService.store(file);
+
+        // Assert - "/uploads/xx/yy/uuid.jpg", where xx/yy is derived from the filename
+        String relativePath = url.substring("/uploads/".length());
+        assertTrue(relativePath.matches("[0-9a-f]{2}/[0-9a-f]{2}/[^/]+\\.jpg"), relativePath);
+        assertTrue(UploadLayout.isSharded(relativePath));
+        assertTrue(Files.exists(tempDir.resolve(relativePath)));
+    }
+
+    @Test
+    void delete_WithLegacyFlatUrl_ShouldDeleteFile() throws IOException {
+        // Arrange - file from before the sharded layout
+        Path legacyFile = Files.writeString(tempDir.resolve("legacy.jpg"), "old upload");
+
+        // Act
+        storageService.delete("/uploads/legacy.jpg");
+
+        // Assert
+        assertFalse(Files.exists(legacyFile));
+    }
+
+    @Test
+    void delete_WithPathOutsideUploadDirectory_ShouldThrowSecurityException() {
+        assertThrows(SecurityException.class, () -> storageService.delete("/uploads/../outside.jpg"));
+        assertThrows(SecurityException.class, () -> storageService.delete("/uploads/ab/../../outside.jpg"));
+    }
+}
@@ -0,0 +1,57 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.event.PortfolioChangedEvent;
+import org.ek.portfoliobackend.service.PortfolioVersionService.VersionStamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PortfolioVersionServiceImpl to verify when version stamps change.
+ */
+class PortfolioVersionServiceImplTest {
+
+    private PortfolioVersionServiceImpl versionService;
+
+    @BeforeEach
+    void setUp() {
+        versionService = new PortfolioVersionServiceImpl();
+    }
+
+    @Test
+    void onPortfolioChanged_ShouldBumpPortfolioAndChangedProjectOnly() {
+        // Arrange
+        VersionStamp portfolioBefore = versionService.getPortfolioVersion();
+        VersionStamp changedBefore = versionService.getProjectVersion(1L);
+        VersionStamp otherBefore = versionService.getProjectVersion(2L);
+
+        // Act
+        versionService.onPortfolioChanged(new PortfolioChangedEvent(1L, false));
+
+        // Assert
+        assertNotEquals(portfolioBefore.etag(), versionService.getPortfolioVersion().etag());
+        assertTrue(versionService.getPortfolioVersion().lastModified() > portfolioBefore.lastModified());
+        assertNotEquals(changedBefore.etag(), versionService.getProjectVersion(1L).etag());
+        assertEquals(otherBefore, versionService.getProjectVersion(2L));
+    }
+
+    @Test
+    void onPortfolioChanged_AffectingOtherProjects_ShouldBumpEveryProject() {
+        // Arrange
+        VersionStamp otherBefore = versionService.getProjectVersion(2L);
+
+        // Act
+        versionService.onPortfolioChanged(new PortfolioChangedEvent(1L, true));
+
+        // Assert
+        assertNotEquals(otherBefore.etag(), versionService.getProjectVersion(2L).etag());
+    }
+
+    @Test
+    void getProjectVersion_ShouldDifferBetweenProjects() {
+        // Act & Assert
+        assertNotEquals(versionService.getProjectVersion(1L).etag(), versionService.getProjectVersion(2L).etag());
+        assertTrue(versionService.getProjectVersion(1L).etag().startsWith("\""));
+    }
+}
@@ -10,9 +10,12 @@ import org.ek.portfoliobackend.mapper.ProjectMapper;
 import org.ek.portfoliobackend.model.*;
 import org.ek.portfoliobackend.repository.ImageRepository;
 import org.ek.portfoliobackend.repository.ProjectRepository;
+import org.ek.portfoliobackend.service.FeaturedImageService;
+import org.ek.portfoliobackend.service.FileDeletionService;
 import org.ek.portfoliobackend.service.ImageStorageService;
 import org.ek.portfoliobackend.exception.custom.ResourceNotFoundException;
 import org.ek.portfoliobackend.service.ProjectService;
+import org.ek.portfoliobackend.service.UploadSessionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,8 +23,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
@@ -57,6 +63,18 @@ class ProjectServiceImplTest {
     @Mock
     private ProjectMapper projectMapper;
 
+    @Mock
+    private FeaturedImageService featuredImageService;
+
+    @Mock
+    private FileDeletionService fileDeletionService;
+
+    @Mock
+    private UploadSessionService uploadSessionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ProjectServiceImpl projectService;
 
     // Test data for new createProject tests
@@ -74,7 +92,8 @@ class ProjectServiceImplTest {
     @BeforeEach
     void setUp() {
         projectService = new ProjectServiceImpl(projectRepository, imageRepository,
-                imageStorageService, projectMapper);
+                imageStorageService, new ImageIngestServiceImpl(imageStorageService, 4),
+                projectMapper, featuredImageService, fileDeletionService, uploadSessionService, eventPublisher);
 
         // Setup test data for new createProject tests
         setupTestData();
@@ -154,9 +173,6 @@ class ProjectServiceImplTest {
         when(projectMapper.toProjectEntity(validRequest)).thenReturn(mockProject);
         when(projectRepository.save(any(Project.class))).thenReturn(mockProject);
 
-        when(projectRepository.findByWorkType(eq(WorkType.FACADE_CLEANING), any(Sort.class)))
-                .thenReturn(Collections.emptyList());
-
         when(imageStorageService.store(any(MultipartFile.class)))
                 .thenReturn("http://storage.com/before.jpg")
                 .thenReturn("http://storage.com/after.jpg");
@@ -177,9 +193,7 @@ class ProjectServiceImplTest {
                 .thenReturn(beforeImage);
         when(projectMapper.toImage(anyString(), eq(ImageType.AFTER), eq(true), any(Project.class)))
                 .thenReturn(afterImage);
-        when(imageRepository.save(any(Image.class)))
-                .thenReturn(beforeImage)
-                .thenReturn(afterImage);
+        when(imageRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         when(projectMapper.toResponse(any(Project.class))).thenReturn(mockProjectResponse);
 
         // Act
@@ -192,7 +206,11 @@ class ProjectServiceImplTest {
         verify(projectMapper).toProjectEntity(validRequest);
         verify(projectRepository).save(any(Project.class));
         verify(imageStorageService, times(2)).store(any(MultipartFile.class));
-        verify(imageRepository, times(2)).save(any(Image.class));
+        verify(imageRepository).saveAll(List.of(beforeImage, afterImage));
+        verify(imageRepository, never()).save(any(Image.class));
+        verify(featuredImageService).feature(afterImage);
+        verify(featuredImageService, never()).feature(beforeImage);
+        verify(projectRepository, never()).findByWorkType(any(), any());
         verify(projectMapper).toResponse(any(Project.class));
     }
 
@@ -288,28 +306,83 @@ class ProjectServiceImplTest {
         when(projectMapper.toProjectEntity(validRequest)).thenReturn(mockProject);
         when(projectRepository.save(any(Project.class))).thenReturn(mockProject);
 
-        when(projectRepository.findByWorkType(eq(WorkType.FACADE_CLEANING), any(Sort.class)))
-                .thenReturn(Collections.emptyList());
-
         when(imageStorageService.store(any(MultipartFile.class)))
                 .thenReturn("http://storage.com/before.jpg")
                 .thenThrow(new RuntimeException("Storage failure"));
 
-        Image beforeImage = new Image();
-        beforeImage.setId(1L);
-        beforeImage.setUrl("http://storage.com/before.jpg");
-        beforeImage.setImageType(ImageType.BEFORE);
-
-        when(projectMapper.toImage(anyString(), eq(ImageType.BEFORE), eq(false), any(Project.class)))
-                .thenReturn(beforeImage);
-        when(imageRepository.save(any(Image.class))).thenReturn(beforeImage);
-
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> projectService.createProject(validRequest, validImages, validMetadata));
 
+        // Files are stored before any image entity is created, so nothing is saved
         assertTrue(exception.getMessage().contains("Failed to store images"));
         verify(imageStorageService).delete("http://storage.com/before.jpg");
+        verify(imageRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    void createProject_WhenImageSaveFails_ShouldDeleteAllStoredFiles() {
+        // Arrange
+        when(projectMapper.toProjectEntity(validRequest)).thenReturn(mockProject);
+        when(projectRepository.save(any(Project.class))).thenReturn(mockProject);
+        when(imageStorageService.store(any(MultipartFile.class)))
+                .thenReturn("http://storage.com/before.jpg")
+                .thenReturn("http://storage.com/after.jpg");
+        when(projectMapper.toImage(anyString(), any(ImageType.class), anyBoolean(), any(Project.class)))
+                .thenReturn(new Image());
+        when(imageRepository.saveAll(anyIterable())).thenThrow(new RuntimeException("Database failure"));
+
+        // Act & Assert
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                    () -> projectService.createProject(validRequest, validImages, validMetadata));
+            assertTrue(exception.getMessage().contains("Failed to store images"));
+
+            // Nothing is deleted before the transaction has rolled back
+            verify(imageStorageService, never()).delete(anyString());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Exactly once each, a second delete would release a shared blob twice
+        verify(imageStorageService, times(1)).delete("http://storage.com/before.jpg");
+        verify(imageStorageService, times(1)).delete("http://storage.com/after.jpg");
+    }
+
+    @Test
+    void createProjectWithStoredImages_WithValidData_ShouldSaveImagesWithoutStoring() {
+        // Arrange
+        when(projectMapper.toProjectEntity(validRequest)).thenReturn(mockProject);
+        when(projectRepository.save(any(Project.class))).thenReturn(mockProject);
+        when(projectMapper.toImage(anyString(), any(ImageType.class), anyBoolean(), any(Project.class)))
+                .thenAnswer(invocation -> new Image());
+        when(imageRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectMapper.toResponse(any(Project.class))).thenReturn(mockProjectResponse);
+
+        // Act
+        ProjectResponse result = projectService.createProjectWithStoredImages(validRequest,
+                List.of("/uploads/before.jpg", "/uploads/after.jpg"), validMetadata);
+
+        // Assert
+        assertEquals(1L, result.getId());
+        verify(projectMapper).toImage(eq("/uploads/before.jpg"), eq(ImageType.BEFORE), anyBoolean(), any(Project.class));
+        verify(projectMapper).toImage(eq("/uploads/after.jpg"), eq(ImageType.AFTER), anyBoolean(), any(Project.class));
+        verify(imageStorageService, never()).store(any(MultipartFile.class));
+        verify(imageStorageService, never()).delete(anyString());
+    }
+
+    @Test
+    void createProjectWithStoredImages_WithMismatchedCount_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> projectService.createProjectWithStoredImages(validRequest,
+                        List.of("/uploads/before.jpg"), validMetadata));
+
+        assertEquals("Number of images must match number of metadata entries", exception.getMessage());
+        verify(projectRepository, never()).save(any());
     }
 
     @Test
@@ -345,7 +418,7 @@ class ProjectServiceImplTest {
                 .thenReturn("url1", "url2", "url3", "url4");
         when(projectMapper.toImage(anyString(), any(ImageType.class), anyBoolean(), any(Project.class)))
                 .thenReturn(new Image());
-        when(imageRepository.save(any(Image.class))).thenReturn(new Image());
+        when(imageRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         when(projectMapper.toResponse(any(Project.class))).thenReturn(mockProjectResponse);
 
         // Act
@@ -354,7 +427,7 @@ class ProjectServiceImplTest {
         // Assert
         assertNotNull(result);
         verify(imageStorageService, times(4)).store(any(MultipartFile.class));
-        verify(imageRepository, times(4)).save(any(Image.class));
+        verify(imageRepository).saveAll(argThat(saved -> saved instanceof List<?> list && list.size() == 4));
     }
 
     // ========================================
@@ -494,7 +567,8 @@ TDD test for old update image method
         projectService.deleteProject(1L);
 
         // Then
-        verify(imageStorageService).delete("/uploads/old.jpg");
+        verify(fileDeletionService).enqueue(List.of("/uploads/old.jpg"));
+        verify(imageStorageService, never()).delete(anyString());
         verify(projectRepository).delete(mockProject);
     }
 
@@ -508,7 +582,7 @@ TDD test for old update image method
                 projectService.deleteProject(1L)
         );
 
-        verify(imageStorageService, never()).delete(anyString());
+        verify(fileDeletionService, never()).enqueue(any());
         verify(projectRepository, never()).delete(any());
     }
 
@@ -538,6 +612,7 @@ TDD test for old update image method
 
         assertNotNull(order);
         assertEquals(Sort.Direction.ASC, order.getDirection());
+        assertEquals(Sort.Direction.ASC, usedSort.getOrderFor("id").getDirection());
     }
 
     // Sort projects default in descending order
@@ -564,6 +639,7 @@ TDD test for old update image method
 
         assertNotNull(order);
         assertEquals(Sort.Direction.DESC, order.getDirection());
+        assertEquals(Sort.Direction.DESC, usedSort.getOrderFor("id").getDirection());
     }
 
     // Mapper is called on each project
@@ -906,7 +982,7 @@ TDD test for old update image method
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
         when(imageStorageService.store(any())).thenReturn("/uploads/img.jpg");
         when(projectMapper.toImage(anyString(), any(), anyBoolean(), any())).thenReturn(new Image());
-        when(imageRepository.save(any())).thenReturn(new Image());
+        when(imageRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         when(projectMapper.toResponse(any())).thenReturn(new ProjectResponse());
 
         // Act
@@ -914,7 +990,8 @@ TDD test for old update image method
 
         // Assert
         assertNotNull(result);
-        verify(imageRepository).save(any());
+        verify(imageRepository).saveAll(anyIterable());
+        assertEquals(1, project.getImages().size());
     }
 
     @Test
@@ -936,6 +1013,44 @@ TDD test for old update image method
                 () -> projectService.addImagesToProject(999L, images, metadata));
     }
 
+    @Test
+    @DisplayName("addImagesFromUploadSessions - Success")
+    void addImagesFromUploadSessions_Success() {
+        // Arrange
+        Project project = new Project();
+        project.setId(1L);
+        project.setImages(new ArrayList<>());
+
+        ImageUploadRequest metadata = new ImageUploadRequest(ImageType.AFTER, false);
+        metadata.setUploadSessionId("session-1");
+
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(uploadSessionService.completeSession("session-1")).thenReturn("/uploads/big.jpg");
+        when(projectMapper.toImage(anyString(), any(), anyBoolean(), any())).thenReturn(new Image());
+        when(imageRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(projectMapper.toResponse(any())).thenReturn(new ProjectResponse());
+
+        // Act
+        ProjectResponse result = projectService.addImagesFromUploadSessions(1L, List.of(metadata));
+
+        // Assert
+        assertNotNull(result);
+        verify(projectMapper).toImage(eq("/uploads/big.jpg"), eq(ImageType.AFTER), anyBoolean(), any(Project.class));
+        verify(imageStorageService, never()).store(any(MultipartFile.class));
+        assertEquals(1, project.getImages().size());
+    }
+
+    @Test
+    @DisplayName("addImagesFromUploadSessions - Missing Session Id")
+    void addImagesFromUploadSessions_MissingSessionId_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> projectService.addImagesFromUploadSessions(1L,
+                        List.of(new ImageUploadRequest(ImageType.BEFORE, false))));
+
+        verify(uploadSessionService, never()).completeSession(anyString());
+    }
+
     @Test
     @DisplayName("updateImageMetadata - Success")
     void updateImageMetadata_Success() {
@@ -965,6 +1080,39 @@ TDD test for old update image method
         verify(imageRepository).save(image);
     }
 
+    @Test
+    @DisplayName("updateImageMetadata - Featured image replaces the featured image of the work type")
+    void updateImageMetadata_SetFeatured_FeaturesImage() {
+        // Arrange
+        Project project = new Project();
+        project.setId(1L);
+        project.setWorkType(WorkType.FACADE_CLEANING);
+
+        Image image = new Image();
+        image.setId(1L);
+        image.setProject(project);
+
+        UpdateImageRequest request = new UpdateImageRequest();
+        request.setIsFeatured(true);
+
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(imageRepository.findById(1L)).thenReturn(Optional.of(image));
+        doAnswer(invocation -> {
+            image.setIsFeatured(true);
+            return null;
+        }).when(projectMapper).updateImageEntity(request, image);
+        when(imageRepository.save(any())).thenReturn(image);
+        when(projectMapper.toResponse(any())).thenReturn(new ProjectResponse());
+
+        // Act
+        projectService.updateImageMetadata(1L, 1L, request);
+
+        // Assert
+        verify(featuredImageService).feature(image);
+        verify(featuredImageService, never()).unfeature(any());
+        verify(projectRepository, never()).findByWorkType(any(), any());
+    }
+
     @Test
     @DisplayName("updateImageMetadata - Image Not Found")
     void updateImageMetadata_ImageNotFound() {
@@ -1022,7 +1170,7 @@ TDD test for old update image method
 
         // Assert
         assertNotNull(result);
-        verify(imageStorageService).delete("/uploads/before2.jpg");
+        verify(fileDeletionService).enqueue(List.of("/uploads/before2.jpg"));
         verify(imageRepository).delete(beforeImage2);
     }
 
@@ -1067,7 +1215,6 @@ TDD test for old update image method
         project.setImages(images);
 
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        doNothing().when(imageStorageService).delete(anyString());
         doNothing().when(imageRepository).deleteAll(anyList());
         doNothing().when(projectRepository).delete(any(Project.class));
 
@@ -1076,8 +1223,7 @@ TDD test for old update image method
 
         // Assert
         verify(projectRepository).findById(1L);
-        verify(imageStorageService).delete("/uploads/image1.jpg");
-        verify(imageStorageService).delete("/uploads/image2.jpg");
+        verify(fileDeletionService).enqueue(List.of("/uploads/image1.jpg", "/uploads/image2.jpg"));
         verify(imageRepository).deleteAll(images);
     }
 
@@ -1092,7 +1238,7 @@ TDD test for old update image method
                 () -> projectService.deleteProject(999L));
 
         verify(projectRepository).findById(999L);
-        verify(imageStorageService, never()).delete(anyString());
+        verify(fileDeletionService, never()).enqueue(any());
         verify(imageRepository, never()).deleteAll(anyList());
         verify(projectRepository, never()).delete(any(Project.class));
     }
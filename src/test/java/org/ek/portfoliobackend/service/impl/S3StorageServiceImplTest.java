@@ -0,0 +1,158 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3StorageServiceImplTest {
+
+    private static final String PUBLIC_URL = "http://localhost:9000/portfolio";
+    private static final int MIB = 1024 * 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    private S3StorageServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new S3StorageServiceImpl(s3Client, "portfolio", "images", PUBLIC_URL + "/",
+                DataSize.ofMebibytes(5), 2);
+    }
+
+    @Test
+    @DisplayName("store - small file is uploaded with one PutObject under a sharded key")
+    void store_smallFile_putsObject() {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.JPG", "image/jpeg", "content".getBytes());
+
+        String url = storageService.store(file);
+
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(captor.capture(), any(RequestBody.class));
+        PutObjectRequest request = captor.getValue();
+        assertThat(request.bucket()).isEqualTo("portfolio");
+        assertThat(request.key()).matches("images/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f-]{36}\\.JPG");
+        assertThat(request.contentType()).isEqualTo("image/jpeg");
+        assertThat(url).isEqualTo(PUBLIC_URL + "/" + request.key());
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("store - large file is streamed as a multipart upload and completed with all parts in order")
+    void store_largeFile_usesMultipartUpload() {
+        MockMultipartFile file = new MockMultipartFile("file", "large.png", "image/png", new byte[12 * MIB]);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(invocation -> UploadPartResponse.builder()
+                        .eTag("etag-" + invocation.<UploadPartRequest>getArgument(0).partNumber())
+                        .build());
+
+        String url = storageService.store(file);
+
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(3)).uploadPart(parts.capture(), any(RequestBody.class));
+        assertThat(parts.getAllValues().stream().sorted(Comparator.comparing(UploadPartRequest::partNumber)))
+                .extracting(UploadPartRequest::partNumber, UploadPartRequest::contentLength)
+                .containsExactly(
+                        tuple(1, 5L * MIB),
+                        tuple(2, 5L * MIB),
+                        tuple(3, 2L * MIB));
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().uploadId()).isEqualTo("upload-1");
+        assertThat(complete.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::partNumber, CompletedPart::eTag)
+                .containsExactly(
+                        tuple(1, "etag-1"),
+                        tuple(2, "etag-2"),
+                        tuple(3, "etag-3"));
+        assertThat(url).isEqualTo(PUBLIC_URL + "/" + complete.getValue().key());
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("store - a failing part aborts the multipart upload")
+    void store_failingPart_abortsUpload() {
+        MockMultipartFile file = new MockMultipartFile("file", "large.png", "image/png", new byte[12 * MIB]);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("slow down").statusCode(503).build());
+
+        assertThatThrownBy(() -> storageService.store(file))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("large.png");
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abort = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3Client).abortMultipartUpload(abort.capture());
+        assertThat(abort.getValue().uploadId()).isEqualTo("upload-1");
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("store - empty file is rejected")
+    void store_emptyFile_throws() {
+        MockMultipartFile file = new MockMultipartFile("file", "empty.jpg", "image/jpeg", new byte[0]);
+
+        assertThatThrownBy(() -> storageService.store(file)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    @DisplayName("delete - deletes the object behind a bucket URL")
+    void delete_bucketUrl_deletesObject() {
+        storageService.delete(PUBLIC_URL + "/images/9c/41/photo.jpg");
+
+        ArgumentCaptor<DeleteObjectRequest> captor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3Client).deleteObject(captor.capture());
+        assertThat(captor.getValue().bucket()).isEqualTo("portfolio");
+        assertThat(captor.getValue().key()).isEqualTo("images/9c/41/photo.jpg");
+    }
+
+    @Test
+    @DisplayName("delete - URLs of other storage are skipped")
+    void delete_otherUrl_doesNothing() {
+        storageService.delete("/uploads/9c/41/photo.jpg");
+        storageService.delete(null);
+
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    @DisplayName("delete - keys outside the key prefix are rejected")
+    void delete_outsidePrefix_throws() {
+        assertThatThrownBy(() -> storageService.delete(PUBLIC_URL + "/backups/db.sql"))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> storageService.delete(PUBLIC_URL + "/images/../backups/db.sql"))
+                .isInstanceOf(SecurityException.class);
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    @DisplayName("constructor - part size below the S3 minimum is rejected")
+    void constructor_partSizeTooSmall_throws() {
+        assertThatThrownBy(() -> new S3StorageServiceImpl(s3Client, "portfolio", "images/", PUBLIC_URL,
+                DataSize.ofMegabytes(1), 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,184 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.dto.request.CreateProjectRequest;
+import org.ek.portfoliobackend.dto.request.ImageUploadRequest;
+import org.ek.portfoliobackend.dto.response.ProjectResponse;
+import org.ek.portfoliobackend.model.ImageType;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.ek.portfoliobackend.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingProjectUploadServiceImplTest {
+
+    private static final String BOUNDARY = "----streaming-test";
+
+    private static final String DATA_JSON = """
+            {"title":"Streamed project","description":"Test description","executionDate":"2024-06-15",
+             "workType":"FACADE_CLEANING","customerType":"PRIVATE_CUSTOMER"}""";
+
+    private static final String METADATA_JSON = """
+            [{"imageType":"BEFORE"},{"imageType":"AFTER"}]""";
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    private StreamingProjectUploadServiceImpl uploadService;
+
+    // Content that reached the storage, per stored image
+    private final List<String> storedContent = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new StreamingProjectUploadServiceImpl(projectService, imageStorageService,
+                JsonMapper.builder().build(), DataSize.ofBytes(300), DataSize.ofKilobytes(10));
+    }
+
+    @Test
+    @DisplayName("createProject - streams each image to storage and creates the project from the stored URLs")
+    @SuppressWarnings("unchecked")
+    void createProject_streamsImagesToStorage() {
+        stubStorage();
+        ProjectResponse response = new ProjectResponse();
+        when(projectService.createProjectWithStoredImages(any(), anyList(), anyList())).thenReturn(response);
+
+        ProjectResponse result = uploadService.createProject(request(body(
+                jsonPart("data", DATA_JSON),
+                jsonPart("imageMetadata", METADATA_JSON),
+                filePart("before.jpg", "before-bytes"),
+                filePart("after.png", "after-bytes"))));
+
+        assertThat(result).isSameAs(response);
+        assertThat(storedContent).containsExactly("before-bytes", "after-bytes");
+        verify(imageStorageService).store(any(InputStream.class), eq("before.jpg"), eq("image/jpeg"));
+
+        ArgumentCaptor<CreateProjectRequest> data = ArgumentCaptor.forClass(CreateProjectRequest.class);
+        ArgumentCaptor<List<ImageUploadRequest>> metadata = ArgumentCaptor.forClass(List.class);
+        verify(projectService).createProjectWithStoredImages(data.capture(), eq(List.of("/uploads/1", "/uploads/2")),
+                metadata.capture());
+        assertThat(data.getValue().getTitle()).isEqualTo("Streamed project");
+        assertThat(metadata.getValue()).extracting(ImageUploadRequest::getImageType)
+                .containsExactly(ImageType.BEFORE, ImageType.AFTER);
+        verify(imageStorageService, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("createProject - more images than metadata deletes the stored images")
+    void createProject_tooManyImages_deletesStoredImages() {
+        stubStorage();
+
+        assertThatThrownBy(() -> uploadService.createProject(request(body(
+                jsonPart("data", DATA_JSON),
+                jsonPart("imageMetadata", "[{\"imageType\":\"BEFORE\"}]"),
+                filePart("before.jpg", "before-bytes"),
+                filePart("extra.jpg", "extra-bytes")))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Mismatch");
+
+        assertThat(storedContent).containsExactly("before-bytes");
+        verify(imageStorageService).delete("/uploads/1");
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    @DisplayName("createProject - an image over max-file-size is rejected and stored images are deleted")
+    void createProject_fileTooLarge_throwsIllegalArgument() {
+        stubStorage();
+
+        assertThatThrownBy(() -> uploadService.createProject(request(body(
+                jsonPart("imageMetadata", METADATA_JSON),
+                filePart("before.jpg", "before-bytes"),
+                filePart("huge.jpg", "x".repeat(1000))))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Upload too large");
+
+        verify(imageStorageService).delete("/uploads/1");
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    @DisplayName("createProject - invalid JSON in a part is rejected")
+    void createProject_invalidJson_throwsIllegalArgument() {
+        assertThatThrownBy(() -> uploadService.createProject(request(body(jsonPart("data", "{not json")))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'data'");
+
+        verifyNoInteractions(imageStorageService, projectService);
+    }
+
+    @Test
+    @DisplayName("createProject - a request that is not multipart is rejected")
+    void createProject_notMultipart_throwsIllegalArgument() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/projects/stream");
+        request.setContentType("application/json");
+        request.setContent(DATA_JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> uploadService.createProject(request)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Stores by reading the stream to the end (like the real storage) and returns "/uploads/<n>"
+    private void stubStorage() {
+        when(imageStorageService.store(any(InputStream.class), any(), any())).thenAnswer(invocation -> {
+            try {
+                storedContent.add(new String(invocation.<InputStream>getArgument(0).readAllBytes(),
+                        StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to store file", e);
+            }
+            return "/uploads/" + storedContent.size();
+        });
+    }
+
+    private MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/projects/stream");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body);
+        return request;
+    }
+
+    private byte[] body(String... parts) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (String part : parts) {
+            body.writeBytes(("--" + BOUNDARY + "\r\n" + part + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private String jsonPart(String name, String json) {
+        return "Content-Disposition: form-data; name=\"" + name + "\"\r\n"
+                + "Content-Type: application/json\r\n\r\n" + json;
+    }
+
+    private String filePart(String filename, String content) {
+        String contentType = filename.endsWith(".png") ? "image/png" : "image/jpeg";
+        return "Content-Disposition: form-data; name=\"images\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n" + content;
+    }
+}
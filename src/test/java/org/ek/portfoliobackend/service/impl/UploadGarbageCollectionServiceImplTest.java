@@ -0,0 +1,157 @@
+package org.ek.portfoliobackend.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ek.portfoliobackend.dto.response.UploadGcStatusResponse;
+import org.ek.portfoliobackend.repository.ImageBlobRepository;
+import org.ek.portfoliobackend.repository.ImageRepository;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadGarbageCollectionServiceImplTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ImageBlobRepository imageBlobRepository;
+
+    @TempDir
+    Path uploadPath;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("runIncrementalScan - quarantines old orphans with their derivatives and keeps referenced and young files")
+    void runIncrementalScan_quarantinesOrphans() throws Exception {
+        writeOld("ab/cd/ref.jpg");
+        writeOld("ab/cd/orphan.jpg");
+        writeOld("ab/cd/orphan-320w.jpg");
+        Files.createDirectories(uploadPath.resolve("ab/ce"));
+        Files.writeString(uploadPath.resolve("ab/ce/young.jpg"), "young");
+        when(imageRepository.findUploadUrlPrefixes()).thenReturn(List.of("http://localhost:8080"));
+        when(imageRepository.findUrlsIn(anyCollection()))
+                .thenReturn(List.of("http://localhost:8080/uploads/ab/cd/ref.jpg"));
+
+        UploadGcStatusResponse status = service(500).runIncrementalScan();
+
+        assertThat(status.getFilesScanned()).isEqualTo(4);
+        assertThat(status.getFilesQuarantined()).isEqualTo(2);
+        assertThat(Files.exists(uploadPath.resolve("ab/cd/ref.jpg"))).isTrue();
+        assertThat(Files.exists(uploadPath.resolve("ab/ce/young.jpg"))).isTrue();
+        assertThat(Files.exists(uploadPath.resolve("ab/cd/orphan.jpg"))).isFalse();
+        assertThat(Files.exists(uploadPath.resolve("ab/cd/orphan-320w.jpg"))).isFalse();
+        Path quarantine = uploadPath.resolve(UploadLayout.QUARANTINE_DIR);
+        assertThat(Files.readString(quarantine.resolve("ab/cd/orphan.jpg"))).isEqualTo("ab/cd/orphan.jpg");
+        assertThat(Files.exists(quarantine.resolve("ab/cd/orphan-320w.jpg"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("runIncrementalScan - keeps an old deduplicated file that is referenced by an upload in progress")
+    void runIncrementalScan_keepsCountedBlobs() throws Exception {
+        writeOld("9c/41/3f2a.jpg");
+        writeOld("9c/41/dead.jpg");
+        when(imageRepository.findUploadUrlPrefixes()).thenReturn(List.of());
+        when(imageRepository.findUrlsIn(anyCollection())).thenReturn(List.of());
+        when(imageBlobRepository.findReferencedFilenamesIn(anyCollection())).thenReturn(List.of("3f2a.jpg"));
+
+        UploadGcStatusResponse status = service(500).runIncrementalScan();
+
+        assertThat(status.getFilesQuarantined()).isEqualTo(1);
+        assertThat(Files.exists(uploadPath.resolve("9c/41/3f2a.jpg"))).isTrue();
+        assertThat(Files.exists(uploadPath.resolve("9c/41/dead.jpg"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("runIncrementalScan - quarantines stale temp files and derivatives without original")
+    void runIncrementalScan_quarantinesTempFilesAndLoneDerivatives() throws Exception {
+        writeOld(".upload-123.tmp");
+        writeOld("ab/cd/gone-800w.jpg");
+
+        UploadGcStatusResponse status = service(500).runIncrementalScan();
+
+        assertThat(status.getFilesQuarantined()).isEqualTo(2);
+        assertThat(Files.exists(uploadPath.resolve(UploadLayout.QUARANTINE_DIR).resolve(".upload-123.tmp"))).isTrue();
+        assertThat(Files.exists(uploadPath.resolve(UploadLayout.QUARANTINE_DIR).resolve("ab/cd/gone-800w.jpg"))).isTrue();
+        verifyNoInteractions(imageRepository, imageBlobRepository);
+    }
+
+    @Test
+    @DisplayName("runIncrementalScan - continues after the cursor and starts over after a complete pass")
+    void runIncrementalScan_resumesFromCursor() throws Exception {
+        writeOld("aa.jpg");
+        writeOld("ab/cd/b.jpg");
+        writeOld("ac.jpg");
+        List<Collection<String>> queries = new ArrayList<>();
+        when(imageRepository.findUploadUrlPrefixes()).thenReturn(List.of());
+        when(imageRepository.findUrlsIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> urls = invocation.getArgument(0);
+            queries.add(List.copyOf(urls));
+            return List.copyOf(urls);
+        });
+        UploadGarbageCollectionServiceImpl service = service(2);
+
+        assertThat(service.runIncrementalScan().getCursor()).isEqualTo("ab/cd/b.jpg");
+        assertThat(service.runIncrementalScan().getCursor()).isEqualTo("ac.jpg");
+        UploadGcStatusResponse status = service.runIncrementalScan();
+
+        assertThat(status.getCursor()).isEmpty();
+        assertThat(status.getLastPassCompletedAt()).isNotNull();
+        assertThat(status.getFilesScanned()).isEqualTo(3);
+        assertThat(status.getFilesQuarantined()).isZero();
+        assertThat(queries).containsExactly(
+                List.of("/uploads/aa.jpg", "/uploads/ab/cd/b.jpg"),
+                List.of("/uploads/ac.jpg"));
+    }
+
+    @Test
+    @DisplayName("runIncrementalScan - deletes quarantined files after the quarantine period")
+    void runIncrementalScan_purgesExpiredQuarantine() throws Exception {
+        Path quarantine = uploadPath.resolve(UploadLayout.QUARANTINE_DIR);
+        Files.createDirectories(quarantine.resolve("ab/cd"));
+        Files.writeString(quarantine.resolve("ab/cd/expired.jpg"), "12345");
+        Files.setLastModifiedTime(quarantine.resolve("ab/cd/expired.jpg"),
+                FileTime.from(Instant.now().minus(Duration.ofDays(8))));
+        Files.writeString(quarantine.resolve("ab/cd/recent.jpg"), "recent");
+
+        UploadGcStatusResponse status = service(500).runIncrementalScan();
+
+        assertThat(status.getFilesPurged()).isEqualTo(1);
+        assertThat(status.getBytesReclaimed()).isEqualTo(5);
+        assertThat(meterRegistry.get("uploads.gc.reclaimed").counter().count()).isEqualTo(5.0);
+        assertThat(Files.exists(quarantine.resolve("ab/cd/expired.jpg"))).isFalse();
+        assertThat(Files.exists(quarantine.resolve("ab/cd/recent.jpg"))).isTrue();
+        verifyNoInteractions(imageRepository, imageBlobRepository);
+    }
+
+    private UploadGarbageCollectionServiceImpl service(int batchSize) {
+        return new UploadGarbageCollectionServiceImpl(uploadPath.toString(), imageRepository, imageBlobRepository, meterRegistry,
+                batchSize, Duration.ofHours(1), Duration.ofDays(7), true);
+    }
+
+    // A file older than min-age, with its path as content
+    private void writeOld(String relativePath) throws Exception {
+        Path file = uploadPath.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, relativePath);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+    }
+}
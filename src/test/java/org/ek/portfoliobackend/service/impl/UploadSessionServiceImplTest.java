@@ -0,0 +1,207 @@
+package org.ek.portfoliobackend.service.impl;
+
+import org.ek.portfoliobackend.dto.request.CreateUploadSessionRequest;
+import org.ek.portfoliobackend.dto.response.UploadSessionResponse;
+import org.ek.portfoliobackend.exception.custom.ResourceNotFoundException;
+import org.ek.portfoliobackend.model.UploadSession;
+import org.ek.portfoliobackend.repository.UploadSessionRepository;
+import org.ek.portfoliobackend.service.ImageStorageService;
+import org.ek.portfoliobackend.service.UploadLayout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadSessionServiceImplTest {
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @TempDir
+    Path uploadPath;
+
+    @Test
+    @DisplayName("createSession - saves the session and reports every chunk as missing")
+    void createSession_savesSession() {
+        when(uploadSessionRepository.save(any(UploadSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UploadSessionResponse response = service().createSession(request("big.jpg", 10));
+
+        assertThat(response.getChunkSize()).isEqualTo(4);
+        assertThat(response.getMissingOffsets()).containsExactly(0L, 4L, 8L);
+        assertThat(response.getReceivedBytes()).isZero();
+        assertThat(response.isComplete()).isFalse();
+        assertThat(Files.isDirectory(sessionsPath().resolve(response.getId()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("createSession - rejects files larger than max-file-size")
+    void createSession_rejectsTooLargeFile() {
+        assertThatThrownBy(() -> service().createSession(request("huge.jpg", 101)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(uploadSessionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("writeChunk - stores chunks in any order, and sending a chunk again replaces it")
+    void writeChunk_storesChunks() {
+        session("s1", 10, Instant.now().plusSeconds(60));
+
+        service().writeChunk("s1", 8, 2, content("ij"));
+        UploadSessionResponse response = service().writeChunk("s1", 4, 4, content("efgh"));
+        response = service().writeChunk("s1", 4, 4, content("efgh"));
+
+        assertThat(response.getMissingOffsets()).containsExactly(0L);
+        assertThat(response.getReceivedBytes()).isEqualTo(6);
+        assertThat(Files.exists(sessionsPath().resolve("s1/1.part"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("writeChunk - rejects offsets and lengths that do not match the chunks of the session")
+    void writeChunk_rejectsWrongChunks() throws Exception {
+        session("s1", 10, Instant.now().plusSeconds(60));
+        UploadSessionServiceImpl service = service();
+
+        assertThatThrownBy(() -> service.writeChunk("s1", 3, 4, content("defg")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.writeChunk("s1", 12, 4, content("mnop")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.writeChunk("s1", 8, 4, content("ijkl")))
+                .isInstanceOf(IllegalArgumentException.class);
+        // A connection that breaks mid-chunk leaves no part file behind
+        assertThatThrownBy(() -> service.writeChunk("s1", 0, 4, content("ab")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        try (var files = Files.list(sessionsPath().resolve("s1"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("writeChunk - unknown and expired sessions are not found")
+    void writeChunk_expiredSession() {
+        session("old", 10, Instant.now().minusSeconds(1));
+        when(uploadSessionRepository.findById("nope")).thenReturn(Optional.empty());
+        UploadSessionServiceImpl service = service();
+
+        assertThatThrownBy(() -> service.writeChunk("old", 0, 4, content("abcd")))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.getSession("nope"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("completeSession - stores the chunks in order as one file and removes the session")
+    void completeSession_storesFile() {
+        UploadSession session = session("s1", 10, Instant.now().plusSeconds(60));
+        UploadSessionServiceImpl service = service();
+        service.writeChunk("s1", 8, 2, content("ij"));
+        service.writeChunk("s1", 0, 4, content("abcd"));
+        service.writeChunk("s1", 4, 4, content("efgh"));
+        AtomicReference<String> stored = new AtomicReference<>();
+        when(imageStorageService.store(any(InputStream.class), eq("big.jpg"), eq("image/jpeg")))
+                .thenAnswer(invocation -> {
+                    stored.set(new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8));
+                    return "/uploads/ab/cd/big.jpg";
+                });
+
+        String url = service.completeSession("s1");
+
+        assertThat(url).isEqualTo("/uploads/ab/cd/big.jpg");
+        assertThat(stored.get()).isEqualTo("abcdefghij");
+        verify(uploadSessionRepository).delete(session);
+        assertThat(Files.exists(sessionsPath().resolve("s1"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("completeSession - fails while chunks are missing")
+    void completeSession_missingChunks() {
+        session("s1", 10, Instant.now().plusSeconds(60));
+        UploadSessionServiceImpl service = service();
+        service.writeChunk("s1", 0, 4, content("abcd"));
+
+        assertThatThrownBy(() -> service.completeSession("s1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing 2 of 3 chunks");
+
+        verifyNoInteractions(imageStorageService);
+        verify(uploadSessionRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("deleteExpiredSessions - deletes expired sessions and old chunk directories without a session")
+    void deleteExpiredSessions_deletesExpired() throws Exception {
+        UploadSession expired = new UploadSession("expired", "a.jpg", "image/jpeg", 10, 4,
+                Instant.now().minus(Duration.ofDays(2)), Instant.now().minus(Duration.ofDays(1)));
+        Files.createDirectories(sessionsPath().resolve("expired"));
+        Path orphan = Files.createDirectories(sessionsPath().resolve("orphan"));
+        Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        Path young = Files.createDirectories(sessionsPath().resolve("young"));
+        when(uploadSessionRepository.findByExpiresAtBefore(any(Instant.class))).thenReturn(List.of(expired));
+        when(uploadSessionRepository.existsById("orphan")).thenReturn(false);
+
+        int deleted = service().deleteExpiredSessions();
+
+        assertThat(deleted).isEqualTo(1);
+        verify(uploadSessionRepository).delete(expired);
+        assertThat(Files.exists(sessionsPath().resolve("expired"))).isFalse();
+        assertThat(Files.exists(orphan)).isFalse();
+        assertThat(Files.exists(young)).isTrue();
+    }
+
+    // --- Helpers ---
+
+    private UploadSessionServiceImpl service() {
+        return new UploadSessionServiceImpl(uploadPath.toString(), uploadSessionRepository, imageStorageService,
+                DataSize.ofBytes(4), DataSize.ofBytes(100), Duration.ofDays(1));
+    }
+
+    private Path sessionsPath() {
+        return uploadPath.toAbsolutePath().normalize().resolve(UploadLayout.SESSIONS_DIR);
+    }
+
+    private UploadSession session(String id, long totalSize, Instant expiresAt) {
+        UploadSession session = new UploadSession(id, "big.jpg", "image/jpeg", totalSize, 4,
+                Instant.now(), expiresAt);
+        when(uploadSessionRepository.findById(id)).thenReturn(Optional.of(session));
+        return session;
+    }
+
+    private CreateUploadSessionRequest request(String filename, long size) {
+        CreateUploadSessionRequest request = new CreateUploadSessionRequest();
+        request.setFilename(filename);
+        request.setContentType("image/jpeg");
+        request.setSize(size);
+        return request;
+    }
+
+    private InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,6 +5,7 @@ import org.ek.portfoliobackend.dto.request.UpdateUserRequest;
 import org.ek.portfoliobackend.dto.response.UserResponse;
 import org.ek.portfoliobackend.model.User;
 import org.ek.portfoliobackend.repository.UserRepository;
+import org.ek.portfoliobackend.security.TokenVersionCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,13 +28,16 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
     private UserServiceImpl userService;
     private BCryptPasswordEncoder passwordEncoder;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository);
         passwordEncoder = new BCryptPasswordEncoder();
+        userService = new UserServiceImpl(userRepository, passwordEncoder, tokenVersionCache);
     }
 
     // Create User
@@ -185,6 +189,31 @@ public class UserServiceImplTest {
         // Assert
         assertThat(response.getUsername()).isEqualTo("NewName");
         verify(userRepository).save(any(User.class));
+        verify(tokenVersionCache).evict("OldName");
+    }
+
+    // Update User - Password change revokes existing tokens
+    @Test
+    void updateUser_shouldIncrementTokenVersion_whenPasswordChanges() {
+        // Arrange
+        User existingUser = new User();
+        existingUser.setId(1L);
+        existingUser.setUsername("Jens64");
+        existingUser.setEmail("admin@test.io");
+        existingUser.setPassword("hashedPassword");
+
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setPassword("NewPassword2025");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(userRepository.save(any(User.class))).thenReturn(existingUser);
+
+        // Act
+        userService.updateUser(1L, request);
+
+        // Assert
+        assertThat(existingUser.getTokenVersion()).isEqualTo(1);
+        verify(tokenVersionCache).evict("Jens64");
     }
 
     // Update User - Not found
@@ -213,6 +242,7 @@ public class UserServiceImplTest {
 
         // Assert
         verify(userRepository).deleteById(1L);
+        verify(tokenVersionCache).clear();
     }
 
     // Delete User - Not found
@@ -9,8 +9,18 @@ INSERT INTO project(title, description, execution_date, work_type, customer_type
      ('Tagrens', 'Algebehandling af tag', '2025-02-10', 'ROOF_CLEANING', 'BUSINESS_CUSTOMER', '2025-01-12');
 
 -- Insert test images (matches Image entity)
-INSERT INTO image(url, image_type, is_featured, project_id) VALUES
-    ('https://example.com/before1.jpg', 'BEFORE', false, 1),
-    ('https://example.com/after1.jpg', 'AFTER', true, 1),
-    ('https://example.com/before2.jpg', 'BEFORE', false, 2),
-    ('https://example.com/after2.jpg', 'AFTER', true, 2);
+-- Image ids come from the id_generator table (not IDENTITY), so they are given explicitly here
+INSERT INTO image(id, url, image_type, is_featured, project_id) VALUES
+    (1, 'https://example.com/before1.jpg', 'BEFORE', false, 1),
+    (2, 'https://example.com/after1.jpg', 'AFTER', true, 1),
+    (3, 'https://example.com/before2.jpg', 'BEFORE', false, 2),
+    (4, 'https://example.com/after2.jpg', 'AFTER', true, 2);
+
+-- The featured images above, one per work type (matches FeaturedImage entity)
+INSERT INTO featured_image(work_type, image_id) VALUES
+    ('PAVING_CLEANING', 2),
+    ('ROOF_CLEANING', 4);
+
+-- Generated image ids start after the rows above
+DELETE FROM id_generator WHERE gen_name = 'image';
+INSERT INTO id_generator(gen_name, next_val) VALUES ('image', 100);